@@ -0,0 +1,97 @@
+package com.biswas.project_management_backend.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows the latency of the calls it admits (AIMD).
+ *
+ * The limiter keeps a baseline of healthy latency: the lowest sample seen,
+ * drifting slowly towards recent samples so a permanently slower model is
+ * eventually accepted as normal. A sample above {@code tolerance} times the
+ * baseline, or a dropped call, shrinks the limit multiplicatively; a healthy
+ * sample while the limit is actually being used grows it by one. Admission
+ * itself is a CAS on the in-flight count and never blocks.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SLOW_BACKOFF = 0.9;
+    private static final double DROP_BACKOFF = 0.5;
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile int limit;
+    private double baselineMs = Double.NaN;  // guarded by updateLock
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.limit = clamp(initialLimit);
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) return false;
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records the latency of a call that completed normally.
+     */
+    public void onSuccess(long latencyMs) {
+        updateLock.lock();
+        try {
+            if (Double.isNaN(baselineMs) || latencyMs < baselineMs) {
+                baselineMs = latencyMs;
+            } else {
+                baselineMs += (latencyMs - baselineMs) * BASELINE_DRIFT;
+            }
+
+            if (latencyMs > baselineMs * tolerance) {
+                limit = clamp((int) (limit * SLOW_BACKOFF));
+            } else if (inFlight.get() * 2 >= limit) {
+                // Only grow while at least half the limit is in use, so idle periods don't inflate it
+                limit = clamp(limit + 1);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Records a call that timed out or failed because the model is struggling.
+     */
+    public void onDropped() {
+        updateLock.lock();
+        try {
+            limit = clamp((int) (limit * DROP_BACKOFF));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,172 @@
+package com.biswas.project_management_backend.ai;
+
+import com.biswas.project_management_backend.config.AsyncConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Isolates model calls from the rest of the API.
+ *
+ * Blocking calls run on the dedicated AI executor (ai.bulkhead.max-concurrent
+ * threads, a short queue) and the request thread waits at most
+ * ai.bulkhead.timeout-ms for them. In front of that sits an
+ * {@link AdaptiveConcurrencyLimiter}: when the model slows down the limit
+ * shrinks and further calls are rejected immediately with
+ * {@link AiUnavailableException} instead of piling up request threads.
+ * Streams only take a limiter permit, since they hold no thread while waiting.
+ * Their latency sample is the time to the first token: the length of a whole
+ * stream depends on the answer, not on how loaded the model is.
+ */
+@Component
+public class AiBulkhead {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+    private final Duration streamIdleTimeout;
+
+    public AiBulkhead(@Qualifier(AsyncConfig.AI_EXECUTOR) ThreadPoolTaskExecutor executor,
+                      MeterRegistry meterRegistry,
+                      @Value("${ai.bulkhead.max-concurrent:8}") int maxConcurrent,
+                      @Value("${ai.bulkhead.queue-capacity:16}") int queueCapacity,
+                      @Value("${ai.bulkhead.min-limit:2}") int minLimit,
+                      @Value("${ai.bulkhead.latency-tolerance:2.0}") double latencyTolerance,
+                      @Value("${ai.bulkhead.timeout-ms:30000}") long timeoutMs,
+                      @Value("${ai.bulkhead.stream-idle-timeout-ms:15000}") long streamIdleTimeoutMs) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+        this.streamIdleTimeout = Duration.ofMillis(streamIdleTimeoutMs);
+        // Admitted calls are either running or queued on the executor
+        this.limiter = new AdaptiveConcurrencyLimiter(maxConcurrent, minLimit, maxConcurrent + queueCapacity, latencyTolerance);
+
+        Gauge.builder("ai.bulkhead.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent model calls")
+                .register(meterRegistry);
+        Gauge.builder("ai.bulkhead.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Model calls admitted and not yet finished")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a blocking model call on the AI executor and waits for it.
+     */
+    public <T> T call(Callable<T> work) {
+        admit();
+        long startedAt = System.nanoTime();
+        AtomicBoolean started = new AtomicBoolean();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                // Lost the race with a timed-out caller that already gave the permit back
+                if (!started.compareAndSet(false, true)) return null;
+                try {
+                    return work.call();
+                } finally {
+                    limiter.release();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            limiter.release();
+            throw reject("queue");
+        }
+
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            limiter.onSuccess(record("call", startedAt));
+            return result;
+        } catch (TimeoutException e) {
+            // Still queued: the task will never run, so release its permit here
+            if (started.compareAndSet(false, true)) limiter.release();
+            future.cancel(true);
+            limiter.onDropped();
+            throw timeout("call");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (started.compareAndSet(false, true)) limiter.release();
+            future.cancel(true);
+            throw new AiUnavailableException("Interrupted while waiting for the AI model", false);
+        } catch (ExecutionException e) {
+            limiter.onDropped();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new RuntimeException("AI model call failed", cause);
+        }
+    }
+
+    /**
+     * Admits a streaming call right away (throwing if rejected) and returns the
+     * stream with an idle timeout; the permit is returned when the stream ends.
+     * The returned Flux must be subscribed, or the permit is never released.
+     */
+    public <T> Flux<T> stream(Supplier<Flux<T>> work) {
+        admit();
+        AtomicBoolean released = new AtomicBoolean();
+        AtomicBoolean sampled = new AtomicBoolean();
+        long[] startedAt = new long[1];
+
+        return Flux.defer(work)
+                .doOnSubscribe(s -> startedAt[0] = System.nanoTime())
+                .timeout(streamIdleTimeout)
+                .doOnNext(item -> {
+                    if (sampled.compareAndSet(false, true)) limiter.onSuccess(record("first-token", startedAt[0]));
+                })
+                .doOnComplete(() -> {
+                    // An empty answer still tells how fast the model responded
+                    if (sampled.compareAndSet(false, true)) limiter.onSuccess(record("first-token", startedAt[0]));
+                })
+                .onErrorMap(TimeoutException.class, e -> timeout("stream"))
+                .doOnError(e -> limiter.onDropped())
+                .doFinally(signal -> {
+                    if (released.compareAndSet(false, true)) limiter.release();
+                });
+    }
+
+    /**
+     * Share of the current limit in use, 0..1; background prefetch calls count too.
+     */
+    public double getLoad() {
+        return (double) limiter.getInFlight() / limiter.getLimit();
+    }
+
+    private void admit() {
+        if (!limiter.tryAcquire()) throw reject("limit");
+    }
+
+    private long record(String mode, long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        Timer.builder("ai.model.latency")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    private AiUnavailableException reject(String reason) {
+        meterRegistry.counter("ai.bulkhead.rejected", "reason", reason).increment();
+        return new AiUnavailableException("AI assistant is busy, please retry shortly", false);
+    }
+
+    private AiUnavailableException timeout(String mode) {
+        meterRegistry.counter("ai.bulkhead.timeouts", "mode", mode).increment();
+        return new AiUnavailableException("AI model did not answer in time", true);
+    }
+}
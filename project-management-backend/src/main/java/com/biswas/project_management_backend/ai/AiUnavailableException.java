@@ -0,0 +1,19 @@
+package com.biswas.project_management_backend.ai;
+
+/**
+ * The AI model could not take or finish a call: the bulkhead rejected it, or it
+ * exceeded its timeout. {@link #isTimeout()} tells the two apart.
+ */
+public class AiUnavailableException extends RuntimeException {
+
+    private final boolean timeout;
+
+    public AiUnavailableException(String message, boolean timeout) {
+        super(message);
+        this.timeout = timeout;
+    }
+
+    public boolean isTimeout() {
+        return timeout;
+    }
+}
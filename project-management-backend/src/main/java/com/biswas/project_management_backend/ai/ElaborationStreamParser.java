@@ -0,0 +1,134 @@
+package com.biswas.project_management_backend.ai;
+
+import com.biswas.project_management_backend.dto.AiElaborationEventDto;
+import com.biswas.project_management_backend.dto.AiElaborationResponseDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for the streamed elaboration JSON
+ * ({@code {"elaboratedTask": "...", "steps": ["...", ...]}}).
+ *
+ * Chunks are fed to Jackson's non-blocking parser as they arrive, so
+ * {@code elaboratedTask} and every step are reported as soon as their closing
+ * quote has been received. Anything before the first '{' (e.g. a Markdown code
+ * fence) is skipped, as is anything after it. If the output turns out not to be JSON, {@link #finish()}
+ * falls back to returning the raw text, like the blocking endpoint does.
+ * One instance per stream; not thread-safe.
+ */
+public class ElaborationStreamParser {
+
+    private static final String ELABORATED_TASK = "elaboratedTask";
+    private static final String STEPS = "steps";
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final StringBuilder raw = new StringBuilder();
+    private final AiElaborationResponseDto result = new AiElaborationResponseDto();
+    private final List<String> steps = new ArrayList<>();
+
+    private boolean started;
+    private boolean failed;
+    private boolean complete;
+    private String currentField;
+    private int depth;
+
+    public ElaborationStreamParser(JsonFactory jsonFactory) {
+        try {
+            this.parser = jsonFactory.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.result.setSteps(steps);
+    }
+
+    /**
+     * Feeds one chunk and returns the fields completed by it.
+     */
+    public List<AiElaborationEventDto> accept(String chunk) {
+        raw.append(chunk);
+        if (failed || complete || chunk.isEmpty()) return List.of();
+
+        String json = chunk;
+        if (!started) {
+            int brace = chunk.indexOf('{');
+            if (brace < 0) return List.of();
+            started = true;
+            json = chunk.substring(brace);
+        }
+
+        List<AiElaborationEventDto> events = new ArrayList<>();
+        try {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            feeder.feedInput(bytes, 0, bytes.length);
+            readAvailable(events);
+        } catch (IOException e) {
+            failed = true;
+        }
+        return events;
+    }
+
+    /**
+     * Result after the last chunk.
+     */
+    public AiElaborationResponseDto finish() {
+        feeder.endOfInput();
+        if (failed || result.getElaboratedTask() == null) {
+            AiElaborationResponseDto fallback = new AiElaborationResponseDto();
+            fallback.setElaboratedTask(raw.toString());
+            fallback.setSteps(List.of());
+            return fallback;
+        }
+        return result;
+    }
+
+    /**
+     * True once a well-formed elaboration has been read, i.e. {@link #finish()}
+     * will not fall back to the raw text.
+     */
+    public boolean isParsed() {
+        return complete && !failed && result.getElaboratedTask() != null;
+    }
+
+    private void readAvailable(List<AiElaborationEventDto> events) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (depth == 1) currentField = null;
+                    if (depth == 0) {
+                        // Ignore whatever follows the root object, e.g. a closing code fence
+                        complete = true;
+                        return;
+                    }
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) currentField = parser.currentName();
+                }
+                case VALUE_STRING -> onString(parser.getText(), events);
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void onString(String value, List<AiElaborationEventDto> events) {
+        if (depth == 1 && ELABORATED_TASK.equals(currentField)) {
+            result.setElaboratedTask(value);
+            events.add(new AiElaborationEventDto(AiElaborationEventDto.ELABORATED_TASK, value, null, null));
+        } else if (depth == 2 && STEPS.equals(currentField)) {
+            steps.add(value);
+            events.add(new AiElaborationEventDto(AiElaborationEventDto.STEP, value, steps.size() - 1, null));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.biswas.project_management_backend.ai;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Deterministic local embedder (ai.embedding.provider=local): signed feature
+ * hashing of lower-cased words and word bigrams.
+ *
+ * Needs no model or network, and the same text always maps to the same vector,
+ * so it suits tests and offline development. Similarity is lexical only:
+ * "login bug" and "sign-in defect" are not related.
+ */
+public class HashingTextEmbedder implements TextEmbedder {
+
+    private static final float BIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    public HashingTextEmbedder(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        if (text == null) return vector;
+
+        String previous = null;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+            add(vector, word, 1f);
+            if (previous != null) add(vector, previous + ' ' + word, BIGRAM_WEIGHT);
+            previous = word;
+        }
+        return vector;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public String modelId() {
+        return "local-hash-" + dimensions;
+    }
+
+    // The low bits pick the slot, the top bit the sign, so collisions tend to cancel out
+    private void add(float[] vector, String feature, float weight) {
+        long hash = hash(feature);
+        int slot = (int) Long.remainderUnsigned(hash, dimensions);
+        vector[slot] += hash < 0 ? -weight : weight;
+    }
+
+    // 64-bit FNV-1a followed by the MurmurHash3 finalizer
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,444 @@
+package com.biswas.project_management_backend.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory HNSW (hierarchical navigable small world) index for cosine
+ * similarity over unit-length vectors.
+ *
+ * All vectors live in one growing {@code float[]} (node i at offset i * dim)
+ * and neighbour lists are plain {@code int[]} per node and level, so the index
+ * is a handful of primitive arrays rather than an object per vector. Search
+ * queues are binary heaps of longs that pack (distance bits, node) together.
+ *
+ * Inserts are incremental. Removing or replacing a key leaves a tombstone: the
+ * node still routes searches but is never returned. Once tombstones outnumber
+ * live entries the graph is rebuilt from the live vectors. Searches share a
+ * read lock; writes are exclusive.
+ */
+public class HnswIndex {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MIN_REBUILD_TOMBSTONES = 1024;
+
+    private final int dimensions;
+    private final int maxLinks;
+    private final int maxLinksLevel0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All guarded by lock
+    private float[] vectors;
+    private long[] keys;
+    private int[][][] links;  // links[node][level] = {count, neighbour...}
+    private final BitSet tombstones = new BitSet();
+    private final Map<Long, Integer> nodeByKey = new HashMap<>();
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions, int maxLinks, int efConstruction) {
+        this.dimensions = dimensions;
+        this.maxLinks = maxLinks;
+        this.maxLinksLevel0 = maxLinks * 2;
+        this.efConstruction = Math.max(efConstruction, maxLinks);
+        this.levelFactor = 1 / Math.log(maxLinks);
+        this.vectors = new float[INITIAL_CAPACITY * dimensions];
+        this.keys = new long[INITIAL_CAPACITY];
+        this.links = new int[INITIAL_CAPACITY][][];
+    }
+
+    public record Match(long key, float score) {
+    }
+
+    /**
+     * Adds or replaces the vector of {@code key}. The vector is copied and normalized.
+     */
+    public void upsert(long key, float[] vector) {
+        float[] unit = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeByKey.remove(key);
+            if (previous != null) tombstones.set(previous);
+            if (tombstones.cardinality() > Math.max(MIN_REBUILD_TOMBSTONES, nodeByKey.size())) {
+                rebuild();
+            }
+            nodeByKey.put(key, insert(key, unit));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long key) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeByKey.remove(key);
+            if (node == null) return false;
+            tombstones.set(node);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long key) {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate top-k by cosine similarity. A larger {@code ef} explores more
+     * of the graph: better recall, higher latency.
+     */
+    public List<Match> search(float[] query, int k, int ef) {
+        float[] unit = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) return List.of();
+
+            int current = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                current = greedyClosest(unit, current, level);
+            }
+            // Over-fetch by the tombstones we may have to skip
+            int width = Math.max(ef, k) + Math.min(tombstones.cardinality(), k);
+            return toMatches(searchLevel(unit, current, width, 0), k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact top-k by scanning every live vector; the reference for measuring recall.
+     */
+    public List<Match> searchExact(float[] query, int k) {
+        float[] unit = normalize(query);
+        lock.readLock().lock();
+        try {
+            LongHeap best = new LongHeap(k + 1, true);
+            for (int node = 0; node < size; node++) {
+                if (tombstones.get(node)) continue;
+                best.push(pack(distance(unit, node), node));
+                if (best.size() > k) best.pop();
+            }
+            return toMatches(best, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    private int insert(long key, float[] unit) {
+        int node = size++;
+        ensureCapacity(size);
+        System.arraycopy(unit, 0, vectors, node * dimensions, dimensions);
+        keys[node] = key;
+
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[(l == 0 ? maxLinksLevel0 : maxLinks) + 1];
+        }
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(unit, current, l);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            long[] candidates = searchLevel(unit, current, efConstruction, l).sortedAscending();
+            int[] own = links[node][l];
+            for (int neighbour : selectNeighbours(candidates, maxLinks)) {
+                own[++own[0]] = neighbour;
+                link(neighbour, node, l);
+            }
+            current = unpackNode(candidates[0]);
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+        return node;
+    }
+
+    // Adds node to from's list at level; a full list is re-selected from its entries plus node
+    private void link(int from, int node, int level) {
+        int[] list = links[from][level];
+        int capacity = list.length - 1;
+        if (list[0] < capacity) {
+            list[++list[0]] = node;
+            return;
+        }
+
+        int fromOffset = from * dimensions;
+        long[] candidates = new long[list[0] + 1];
+        for (int i = 1; i <= list[0]; i++) {
+            candidates[i - 1] = pack(1 - dot(vectors, fromOffset, list[i] * dimensions), list[i]);
+        }
+        candidates[list[0]] = pack(1 - dot(vectors, fromOffset, node * dimensions), node);
+        Arrays.sort(candidates);
+
+        int[] kept = selectNeighbours(candidates, capacity);
+        System.arraycopy(kept, 0, list, 1, kept.length);
+        list[0] = kept.length;
+    }
+
+    /**
+     * HNSW neighbour heuristic: walking candidates from closest to farthest, a
+     * candidate is kept only if it is closer to the base than to every neighbour
+     * kept so far. Plain "closest M" would link a node only into its own
+     * cluster; this keeps the long edges that connect clusters.
+     */
+    private int[] selectNeighbours(long[] sortedCandidates, int max) {
+        int[] selected = new int[Math.min(max, sortedCandidates.length)];
+        int count = 0;
+        for (long candidate : sortedCandidates) {
+            if (count == selected.length) break;
+            int node = unpackNode(candidate);
+            float toBase = unpackDistance(candidate);
+            boolean diverse = true;
+            for (int i = 0; i < count && diverse; i++) {
+                diverse = 1 - dot(vectors, node * dimensions, selected[i] * dimensions) >= toBase;
+            }
+            if (diverse) selected[count++] = node;
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float currentDistance = distance(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] list = links[current].length > level ? links[current][level] : null;
+            if (list == null) break;
+            for (int i = 1; i <= list[0]; i++) {
+                float d = distance(query, list[i]);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = list[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Best-first search on one level; returns a max-heap of the ef closest nodes found
+    private LongHeap searchLevel(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(size);
+        LongHeap candidates = new LongHeap(ef * 2, false);
+        LongHeap results = new LongHeap(ef + 1, true);
+
+        long first = pack(distance(query, start), start);
+        visited.set(start);
+        candidates.push(first);
+        results.push(first);
+
+        while (candidates.size() > 0) {
+            long candidate = candidates.pop();
+            if (results.size() >= ef && unpackDistance(candidate) > unpackDistance(results.peek())) break;
+
+            int[][] nodeLinks = links[unpackNode(candidate)];
+            if (nodeLinks.length <= level) continue;
+            int[] list = nodeLinks[level];
+            for (int i = 1; i <= list[0]; i++) {
+                int neighbour = list[i];
+                if (visited.get(neighbour)) continue;
+                visited.set(neighbour);
+
+                float d = distance(query, neighbour);
+                if (results.size() < ef || d < unpackDistance(results.peek())) {
+                    long packed = pack(d, neighbour);
+                    candidates.push(packed);
+                    results.push(packed);
+                    if (results.size() > ef) results.pop();
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<Match> toMatches(LongHeap heap, int k) {
+        long[] sorted = heap.sortedAscending();
+        List<Match> matches = new ArrayList<>(Math.min(k, sorted.length));
+        for (long packed : sorted) {
+            int node = unpackNode(packed);
+            if (tombstones.get(node)) continue;
+            matches.add(new Match(keys[node], 1 - unpackDistance(packed)));
+            if (matches.size() == k) break;
+        }
+        return matches;
+    }
+
+    private void rebuild() {
+        int liveCount = nodeByKey.size();
+        long[] liveKeys = new long[liveCount];
+        float[] liveVectors = new float[liveCount * dimensions];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : nodeByKey.entrySet()) {
+            liveKeys[i] = entry.getKey();
+            System.arraycopy(vectors, entry.getValue() * dimensions, liveVectors, i * dimensions, dimensions);
+            i++;
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, liveCount * 2);
+        vectors = new float[capacity * dimensions];
+        keys = new long[capacity];
+        links = new int[capacity][][];
+        tombstones.clear();
+        nodeByKey.clear();
+        size = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+
+        float[] unit = new float[dimensions];
+        for (int j = 0; j < liveCount; j++) {
+            System.arraycopy(liveVectors, j * dimensions, unit, 0, dimensions);
+            nodeByKey.put(liveKeys[j], insert(liveKeys[j], unit));
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= keys.length) return;
+        int capacity = Math.max(required, keys.length * 2);
+        vectors = Arrays.copyOf(vectors, capacity * dimensions);
+        keys = Arrays.copyOf(keys, capacity);
+        links = Arrays.copyOf(links, capacity);
+    }
+
+    private float distance(float[] query, int node) {
+        return 1 - dot(query, 0, vectors, node * dimensions);
+    }
+
+    private float dot(float[] a, int aOffset, int bOffset) {
+        return dot(a, aOffset, a, bOffset);
+    }
+
+    private float dot(float[] a, int aOffset, float[] b, int bOffset) {
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        double norm = 0;
+        for (float v : vector) norm += v * v;
+        norm = Math.sqrt(norm);
+        float[] unit = new float[dimensions];
+        if (norm == 0) return unit;
+        for (int i = 0; i < dimensions; i++) unit[i] = (float) (vector[i] / norm);
+        return unit;
+    }
+
+    // Distances are in [0, 2], where float bits order like the floats themselves
+    private static long pack(float distance, int node) {
+        return ((long) Float.floatToIntBits(Math.max(distance, 0f)) << 32) | (node & 0xffffffffL);
+    }
+
+    private static float unpackDistance(long packed) {
+        return Float.intBitsToFloat((int) (packed >>> 32));
+    }
+
+    private static int unpackNode(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Binary heap of packed (distance, node) longs; a min-heap unless {@code max}.
+     */
+    private static final class LongHeap {
+        private long[] items;
+        private int size;
+        private final boolean max;
+
+        LongHeap(int capacity, boolean max) {
+            this.items = new long[Math.max(capacity, 4)];
+            this.max = max;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long peek() {
+            return items[0];
+        }
+
+        void push(long value) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(value, items[parent])) break;
+                items[i] = items[parent];
+                i = parent;
+            }
+            items[i] = value;
+        }
+
+        long pop() {
+            long top = items[0];
+            long last = items[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && before(items[child + 1], items[child])) child++;
+                if (!before(items[child], last)) break;
+                items[i] = items[child];
+                i = child;
+            }
+            if (size > 0) items[i] = last;
+            return top;
+        }
+
+        long[] sortedAscending() {
+            long[] sorted = Arrays.copyOf(items, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        private boolean before(long a, long b) {
+            return max ? a > b : a < b;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.biswas.project_management_backend.ai;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+
+/**
+ * Bounded map that evicts the least recently used entry once full.
+ *
+ * An access-ordered {@link LinkedHashMap} guarded by one lock: every get
+ * reorders the list, so reads need the lock too. Critical sections are a few
+ * pointer swaps, which is cheap next to the model calls this fronts.
+ */
+public class LruCache<K, V> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, V> entries;
+
+    public LruCache(int maxEntries) {
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        lock.lock();
+        try {
+            entries.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int removeIf(BiPredicate<K, V> predicate) {
+        lock.lock();
+        try {
+            int before = entries.size();
+            entries.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue()));
+            return before - entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.biswas.project_management_backend.ai;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spaces permits evenly at a fixed rate, without bursts.
+ *
+ * Each {@link #acquire()} reserves the next free slot and sleeps until it is
+ * due, so callers on several threads together never exceed the rate.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextFreeNanos = System.nanoTime();  // guarded by lock
+
+    public RateLimiter(double permitsPerMinute) {
+        this.intervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / Math.max(permitsPerMinute, 0.001));
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long slot = Math.max(nextFreeNanos, now);
+            nextFreeNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        } finally {
+            lock.unlock();
+        }
+        if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+}
@@ -0,0 +1,49 @@
+package com.biswas.project_management_backend.ai;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.util.List;
+
+/**
+ * Adapts any Spring AI {@link EmbeddingModel} (OpenAI by default) to {@link TextEmbedder}.
+ */
+public class SpringAiTextEmbedder implements TextEmbedder {
+
+    private final EmbeddingModel embeddingModel;
+    private final String modelId;
+    private final int dimensions;
+
+    public SpringAiTextEmbedder(EmbeddingModel embeddingModel, String modelId) {
+        this.embeddingModel = embeddingModel;
+        this.modelId = modelId;
+        this.dimensions = embeddingModel.dimensions();
+    }
+
+    @Override
+    public float[] embed(String text) {
+        return toFloats(embeddingModel.embed(text));
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public String modelId() {
+        return modelId;
+    }
+
+    // Spring AI returns List<Double> up to 1.0.0-M2 and float[] after; one overload each keeps upgrades source-compatible
+    private static float[] toFloats(List<Double> values) {
+        float[] vector = new float[values.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = values.get(i).floatValue();
+        }
+        return vector;
+    }
+
+    private static float[] toFloats(float[] values) {
+        return values;
+    }
+}
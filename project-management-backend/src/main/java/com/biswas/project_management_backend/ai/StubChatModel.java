@@ -0,0 +1,69 @@
+package com.biswas.project_management_backend.ai;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local stand-in for the OpenAI model (ai.chat.provider=stub).
+ *
+ * Answers every prompt with a fixed elaboration in the JSON shape the task
+ * prompts ask for, streamed in small chunks with a delay so clients see real
+ * incremental delivery without network access or an API key. A configurable
+ * latency before the answer (ai.stub.latency-ms) simulates a slow model, e.g.
+ * to watch the bulkhead shed load.
+ */
+public class StubChatModel implements ChatModel {
+
+    static final String RESPONSE = """
+            {"elaboratedTask":"This task covers the backend work for the feature: model the data, expose it \
+            through the service layer and REST endpoints, and make failures visible to the client.",\
+            "steps":["Design the database schema and entity relationships.",\
+            "Implement repository and service methods.",\
+            "Create DTOs for request and response validation.",\
+            "Develop the REST endpoints.",\
+            "Add error handling and integration tests."]}""";
+
+    private final int chunkSize;
+    private final Duration chunkDelay;
+    private final Duration latency;
+
+    public StubChatModel(int chunkSize, Duration chunkDelay, Duration latency) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkDelay = chunkDelay;
+        this.latency = latency;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating model latency", e);
+        }
+        return new ChatResponse(List.of(new Generation(RESPONSE)));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        Flux<ChatResponse> chunks = Flux.fromIterable(chunks())
+                .map(chunk -> new ChatResponse(List.of(new Generation(chunk))));
+        if (!chunkDelay.isZero()) chunks = chunks.delayElements(chunkDelay);
+        return latency.isZero() ? chunks : chunks.delaySubscription(latency);
+    }
+
+    private List<String> chunks() {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < RESPONSE.length(); i += chunkSize) {
+            chunks.add(RESPONSE.substring(i, Math.min(i + chunkSize, RESPONSE.length())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,15 @@
+package com.biswas.project_management_backend.ai;
+
+/**
+ * Turns text into a fixed-length vector for similarity search.
+ * Selected by ai.embedding.provider (see AiConfig).
+ */
+public interface TextEmbedder {
+
+    float[] embed(String text);
+
+    int dimensions();
+
+    // Stored with each vector; vectors of different models are never compared
+    String modelId();
+}
@@ -0,0 +1,468 @@
+package com.biswas.project_management_backend.analytics;
+
+import com.biswas.project_management_backend.dto.TaskPivotCellDto;
+import com.biswas.project_management_backend.dto.TaskPivotDto;
+import com.biswas.project_management_backend.model.enm.TaskPriority;
+import com.biswas.project_management_backend.model.enm.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory columnar copy of one company's tasks, used to answer ad-hoc
+ * group-by / filter pivots without a custom query per pivot.
+ *
+ * Every task is one row spread across primitive arrays: enums are stored as
+ * their ordinal, assignee and project ids are dictionary-encoded to small ints
+ * and the due date is kept as an epoch day. Queries are a single branch-light
+ * pass over those arrays, split across the common fork/join pool once the cube
+ * is larger than one segment.
+ */
+public class TaskCube {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Rows scanned by a single fork/join leaf
+    private static final int SEGMENT_SIZE = 16_384;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final Long companyId;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // --- Columns: index i of every array describes the same task ---
+    private long[] taskIds = new long[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    private int[] assignees = new int[INITIAL_CAPACITY];   // dictionary code, 0 = unassigned
+    private int[] projects = new int[INITIAL_CAPACITY];    // dictionary code
+    private int[] dueDays = new int[INITIAL_CAPACITY];     // LocalDate#toEpochDay
+    private int size;
+
+    private final Map<Long, Integer> rowByTaskId = new HashMap<>();
+    private final IdDictionary assigneeDictionary = new IdDictionary();
+    private final IdDictionary projectDictionary = new IdDictionary();
+
+    public TaskCube(Long companyId) {
+        this.companyId = companyId;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts the task, or overwrites its row when the task is already in the cube.
+     */
+    public void upsert(long taskId, TaskStatus status, TaskPriority priority,
+                       Long assigneeId, Long projectId, LocalDate dueDate) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByTaskId.get(taskId);
+            if (row == null) {
+                ensureCapacity(size + 1);
+                row = size++;
+                rowByTaskId.put(taskId, row);
+            }
+
+            taskIds[row] = taskId;
+            statuses[row] = (byte) status.ordinal();
+            priorities[row] = (byte) priority.ordinal();
+            assignees[row] = assigneeDictionary.encode(assigneeId);
+            projects[row] = projectDictionary.encode(projectId);
+            dueDays[row] = (int) dueDate.toEpochDay();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the task by moving the last row into its slot.
+     *
+     * @return false when the task was not part of this cube
+     */
+    public boolean remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByTaskId.remove(taskId);
+            if (row == null) {
+                return false;
+            }
+
+            int last = size - 1;
+            if (row != last) {
+                taskIds[row] = taskIds[last];
+                statuses[row] = statuses[last];
+                priorities[row] = priorities[last];
+                assignees[row] = assignees[last];
+                projects[row] = projects[last];
+                dueDays[row] = dueDays[last];
+                rowByTaskId.put(taskIds[row], row);
+            }
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public TaskPivotDto query(TaskCubeFilter filter, List<TaskCubeDimension> groupBy) {
+        lock.readLock().lock();
+        try {
+            Scan scan = compile(filter, groupBy);
+
+            LongCountMap counts;
+            if (scan == null) {
+                counts = new LongCountMap();
+            } else if (size <= SEGMENT_SIZE) {
+                counts = scan.run(0, size);
+            } else {
+                counts = ForkJoinPool.commonPool().invoke(new ScanTask(scan, 0, size));
+            }
+
+            return toPivot(counts, groupBy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap held by the cube: column arrays at their current
+     * capacity, the task id index and both id dictionaries.
+     */
+    public long memoryFootprintBytes() {
+        lock.readLock().lock();
+        try {
+            long perRow = Long.BYTES + Byte.BYTES + Byte.BYTES + 3L * Integer.BYTES;
+            return taskIds.length * perRow
+                    + IdDictionary.indexBytes(rowByTaskId.size())
+                    + assigneeDictionary.footprintBytes()
+                    + projectDictionary.footprintBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------- Query compilation ----------------
+
+    /**
+     * Translates the filter into dictionary codes and bit masks.
+     *
+     * @return null when the filter can never match (e.g. an unknown assignee)
+     */
+    private Scan compile(TaskCubeFilter filter, List<TaskCubeDimension> groupBy) {
+        if (filter == null) {
+            filter = new TaskCubeFilter();
+        }
+
+        int assigneeCode = -1;
+        if (filter.getAssigneeId() != null) {
+            assigneeCode = assigneeDictionary.lookup(filter.getAssigneeId());
+            if (assigneeCode < 0) return null;
+        }
+
+        int projectCode = -1;
+        if (filter.getProjectId() != null) {
+            projectCode = projectDictionary.lookup(filter.getProjectId());
+            if (projectCode < 0) return null;
+        }
+
+        Map<TaskCubeDimension, Long> strides = strides(groupBy);
+
+        return new Scan(
+                ordinalMask(filter.getStatuses()),
+                ordinalMask(filter.getPriorities()),
+                assigneeCode,
+                projectCode,
+                filter.getDueFrom() != null ? (int) filter.getDueFrom().toEpochDay() : Integer.MIN_VALUE,
+                filter.getDueTo() != null ? (int) filter.getDueTo().toEpochDay() : Integer.MAX_VALUE,
+                strides.getOrDefault(TaskCubeDimension.STATUS, 0L),
+                strides.getOrDefault(TaskCubeDimension.PRIORITY, 0L),
+                strides.getOrDefault(TaskCubeDimension.ASSIGNEE, 0L),
+                strides.getOrDefault(TaskCubeDimension.PROJECT, 0L)
+        );
+    }
+
+    // Mixed-radix layout of the group key: the last dimension varies fastest
+    private Map<TaskCubeDimension, Long> strides(List<TaskCubeDimension> groupBy) {
+        Map<TaskCubeDimension, Long> strides = new EnumMap<>(TaskCubeDimension.class);
+        long stride = 1;
+        for (int i = groupBy.size() - 1; i >= 0; i--) {
+            TaskCubeDimension dimension = groupBy.get(i);
+            strides.put(dimension, stride);
+            stride = Math.multiplyExact(stride, radix(dimension));
+        }
+        return strides;
+    }
+
+    private long radix(TaskCubeDimension dimension) {
+        return switch (dimension) {
+            case STATUS -> STATUSES.length;
+            case PRIORITY -> PRIORITIES.length;
+            case ASSIGNEE -> assigneeDictionary.cardinality();
+            case PROJECT -> projectDictionary.cardinality();
+        };
+    }
+
+    private static int ordinalMask(Set<? extends Enum<?>> values) {
+        if (values == null || values.isEmpty()) {
+            return -1;
+        }
+        int mask = 0;
+        for (Enum<?> value : values) {
+            mask |= 1 << value.ordinal();
+        }
+        return mask;
+    }
+
+    private TaskPivotDto toPivot(LongCountMap counts, List<TaskCubeDimension> groupBy) {
+        Map<TaskCubeDimension, Long> strides = strides(groupBy);
+        List<TaskPivotCellDto> cells = new ArrayList<>(counts.size());
+        long matched = 0;
+
+        long[] keys = counts.keys;
+        long[] values = counts.counts;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == LongCountMap.EMPTY) continue;
+
+            long key = keys[slot];
+            TaskPivotCellDto cell = new TaskPivotCellDto();
+            for (TaskCubeDimension dimension : groupBy) {
+                int code = (int) ((key / strides.get(dimension)) % radix(dimension));
+                switch (dimension) {
+                    case STATUS -> cell.setStatus(STATUSES[code]);
+                    case PRIORITY -> cell.setPriority(PRIORITIES[code]);
+                    case ASSIGNEE -> cell.setAssigneeId(assigneeDictionary.decode(code));
+                    case PROJECT -> cell.setProjectId(projectDictionary.decode(code));
+                }
+            }
+            cell.setCount(values[slot]);
+            cells.add(cell);
+            matched += values[slot];
+        }
+
+        cells.sort(Comparator.comparing(TaskPivotCellDto::getCount).reversed());
+        return new TaskPivotDto(groupBy, cells, matched, (long) size, memoryFootprintBytes());
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= taskIds.length) return;
+
+        int capacity = Math.max(required, taskIds.length * 2);
+        taskIds = Arrays.copyOf(taskIds, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        assignees = Arrays.copyOf(assignees, capacity);
+        projects = Arrays.copyOf(projects, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+    }
+
+    // ---------------- Scan ----------------
+
+    /**
+     * A compiled query. Callers must hold the read lock for the whole scan;
+     * fork/join workers rely on the calling thread's lock.
+     */
+    private final class Scan {
+        private final int statusMask;
+        private final int priorityMask;
+        private final int assigneeCode;
+        private final int projectCode;
+        private final int dueFrom;
+        private final int dueTo;
+        private final long statusStride;
+        private final long priorityStride;
+        private final long assigneeStride;
+        private final long projectStride;
+
+        private Scan(int statusMask, int priorityMask, int assigneeCode, int projectCode,
+                     int dueFrom, int dueTo, long statusStride, long priorityStride,
+                     long assigneeStride, long projectStride) {
+            this.statusMask = statusMask;
+            this.priorityMask = priorityMask;
+            this.assigneeCode = assigneeCode;
+            this.projectCode = projectCode;
+            this.dueFrom = dueFrom;
+            this.dueTo = dueTo;
+            this.statusStride = statusStride;
+            this.priorityStride = priorityStride;
+            this.assigneeStride = assigneeStride;
+            this.projectStride = projectStride;
+        }
+
+        private LongCountMap run(int from, int to) {
+            LongCountMap counts = new LongCountMap();
+            for (int i = from; i < to; i++) {
+                if ((statusMask & (1 << statuses[i])) == 0) continue;
+                if ((priorityMask & (1 << priorities[i])) == 0) continue;
+                if (assigneeCode >= 0 && assignees[i] != assigneeCode) continue;
+                if (projectCode >= 0 && projects[i] != projectCode) continue;
+                int due = dueDays[i];
+                if (due < dueFrom || due > dueTo) continue;
+
+                long key = statuses[i] * statusStride
+                        + priorities[i] * priorityStride
+                        + assignees[i] * assigneeStride
+                        + projects[i] * projectStride;
+                counts.increment(key);
+            }
+            return counts;
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<LongCountMap> {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        private ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LongCountMap compute() {
+            if (to - from <= SEGMENT_SIZE) {
+                return scan.run(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, mid);
+            left.fork();
+            LongCountMap right = new ScanTask(scan, mid, to).compute();
+            return right.mergeFrom(left.join());
+        }
+    }
+
+    // ---------------- Support structures ----------------
+
+    /**
+     * Open-addressing long -> count map so the scan loop never boxes.
+     */
+    static final class LongCountMap {
+        static final long EMPTY = -1L;
+
+        private long[] keys = newKeys(64);
+        private long[] counts = new long[64];
+        private int size;
+
+        void increment(long key) {
+            add(key, 1);
+        }
+
+        void add(long key, long delta) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                if (++size * 2 > keys.length) {
+                    counts[slot] += delta;
+                    rehash();
+                    return;
+                }
+            }
+            counts[slot] += delta;
+        }
+
+        LongCountMap mergeFrom(LongCountMap other) {
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.keys[slot] != EMPTY) {
+                    add(other.keys[slot], other.counts[slot]);
+                }
+            }
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = newKeys(oldKeys.length * 2);
+            counts = new long[oldKeys.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    add(oldKeys[slot], oldCounts[slot]);
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+
+    /**
+     * Maps entity ids to dense int codes. Code 0 is reserved for "no id".
+     * Codes are never reused, so stale entries only cost a few bytes until
+     * the cube is rebuilt.
+     */
+    static final class IdDictionary {
+        private final Map<Long, Integer> codes = new HashMap<>();
+        private long[] ids = new long[64];
+        private int next = 1;
+
+        int encode(Long id) {
+            if (id == null) return 0;
+            Integer code = codes.get(id);
+            if (code != null) return code;
+
+            if (next == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[next] = id;
+            codes.put(id, next);
+            return next++;
+        }
+
+        int lookup(Long id) {
+            Integer code = codes.get(id);
+            return code != null ? code : -1;
+        }
+
+        Long decode(int code) {
+            return code == 0 ? null : ids[code];
+        }
+
+        int cardinality() {
+            return next;
+        }
+
+        long footprintBytes() {
+            return (long) ids.length * Long.BYTES + indexBytes(codes.size());
+        }
+
+        // HashMap node plus boxed Long key and Integer value, roughly
+        static long indexBytes(int entries) {
+            return entries * 64L;
+        }
+    }
+}
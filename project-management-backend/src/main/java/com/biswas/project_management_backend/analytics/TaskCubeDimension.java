@@ -0,0 +1,8 @@
+package com.biswas.project_management_backend.analytics;
+
+public enum TaskCubeDimension {
+    STATUS,
+    PRIORITY,
+    ASSIGNEE,
+    PROJECT
+}
@@ -0,0 +1,27 @@
+package com.biswas.project_management_backend.analytics;
+
+import com.biswas.project_management_backend.model.enm.TaskPriority;
+import com.biswas.project_management_backend.model.enm.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Filter applied to the task cube before grouping. Null fields match everything.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskCubeFilter {
+    private Set<TaskStatus> statuses;
+    private Set<TaskPriority> priorities;
+    private Long assigneeId;
+    private Long projectId;
+    private LocalDate dueFrom;   // inclusive
+    private LocalDate dueTo;     // inclusive
+}
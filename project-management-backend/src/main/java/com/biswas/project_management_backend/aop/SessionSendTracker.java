@@ -0,0 +1,119 @@
+package com.biswas.project_management_backend.aop;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures outbound backpressure per WebSocket session at the transport.
+ *
+ * With publish order preserved, each session's backlog waits in front of the
+ * outbound channel and is released one message at a time, so counting messages
+ * on the channel never sees more than one per session. What does show a backed-up
+ * session is a write to the client that does not return: everything queued for
+ * that session waits behind it. Each session is wrapped so the age of its write
+ * in progress, and the messages and bytes written so far, can be read.
+ */
+@Component
+public class SessionSendTracker implements WebSocketHandlerDecoratorFactory {
+
+    private final Map<String, TrackedSession> sessions = new ConcurrentHashMap<>();
+
+    public SessionSendTracker(MeterRegistry meterRegistry) {
+        Gauge.builder("websocket.outbound.sending", this, SessionSendTracker::sendingCount)
+                .description("WebSocket sessions with a write to the client in progress")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.blocked.max", this, SessionSendTracker::maxBlockedMillis)
+                .description("Age in ms of the longest write to a client still in progress")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                TrackedSession tracked = new TrackedSession(session);
+                sessions.put(session.getId(), tracked);
+                super.afterConnectionEstablished(tracked);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                TrackedSession tracked = sessions.remove(session.getId());
+                super.afterConnectionClosed(tracked != null ? tracked : session, closeStatus);
+            }
+        };
+    }
+
+    public int sendingCount() {
+        return (int) sessions.values().stream().filter(s -> s.sendingSince != 0).count();
+    }
+
+    public long maxBlockedMillis() {
+        long now = System.nanoTime();
+        return sessions.values().stream().mapToLong(s -> s.blockedMillis(now)).max().orElse(0);
+    }
+
+    // Sessions whose current write has been blocked longest, with what they have been sent so far
+    public Map<String, Map<String, Long>> topSessions(int limit) {
+        long now = System.nanoTime();
+        Map<String, Map<String, Long>> top = new LinkedHashMap<>();
+        sessions.values().stream()
+                .sorted(Comparator.comparingLong((TrackedSession s) -> s.blockedMillis(now)).reversed())
+                .limit(limit)
+                .forEach(s -> {
+                    Map<String, Long> info = new LinkedHashMap<>();
+                    info.put("blockedMs", s.blockedMillis(now));
+                    info.put("messages", s.messages);
+                    info.put("bytes", s.bytes);
+                    top.put(s.getId(), info);
+                });
+        return top;
+    }
+
+    // Spring wraps this again in its own ConcurrentWebSocketSessionDecorator, so sends here are serialized
+    private static final class TrackedSession extends WebSocketSessionDecorator {
+
+        private volatile long sendingSince;
+        private volatile long messages;
+        private volatile long bytes;
+
+        private TrackedSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long start = System.nanoTime();
+            sendingSince = start == 0 ? 1 : start;
+            try {
+                super.sendMessage(message);
+            } finally {
+                sendingSince = 0;
+                messages++;
+                bytes += message.getPayloadLength();
+            }
+        }
+
+        private long blockedMillis(long now) {
+            long since = sendingSince;
+            return since == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(now - since);
+        }
+    }
+}
@@ -1,48 +1,91 @@
 package com.biswas.project_management_backend.aop;
 
+import com.biswas.project_management_backend.service.PresenceService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.simp.broker.BrokerAvailabilityEvent;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.messaging.*;
 
+import java.security.Principal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logs STOMP session lifecycle events and counts them as websocket.* metrics.
+ * Disconnects are tagged with their close code; SESSION_NOT_RELIABLE (4500) is
+ * what the transport uses when it drops a session that exceeded its send limits.
+ * Connected and disconnected sessions are also reported to {@link PresenceService}.
+ */
 @Slf4j
 @Component
 public class WebSocketEventLogger {
 
+    private final MeterRegistry meterRegistry;
+    private final PresenceService presenceService;
+    private final AtomicInteger brokerAvailable = new AtomicInteger();
+
+    public WebSocketEventLogger(MeterRegistry meterRegistry, PresenceService presenceService) {
+        this.meterRegistry = meterRegistry;
+        this.presenceService = presenceService;
+        Gauge.builder("websocket.broker.available", brokerAvailable, AtomicInteger::get)
+                .description("1 while the message broker accepts messages")
+                .register(meterRegistry);
+    }
+
     @EventListener
     public void handleBrokerAvailable(BrokerAvailabilityEvent event) {
+        brokerAvailable.set(event.isBrokerAvailable() ? 1 : 0);
         log.info("🔗 WebSocket Broker available: {}", event.isBrokerAvailable());
     }
 
     @EventListener
     public void handleSessionConnect(SessionConnectEvent event) {
+        meterRegistry.counter("websocket.sessions.connect").increment();
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
-        log.info("🟢 WebSocket CONNECT: sessionId={} user={}", accessor.getSessionId(), accessor.getUser());
+        log.debug("🟢 WebSocket CONNECT: sessionId={} user={}", accessor.getSessionId(), accessor.getUser());
     }
 
     @EventListener
     public void handleSessionConnected(SessionConnectedEvent event) {
+        meterRegistry.counter("websocket.sessions.connected").increment();
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
-        log.info("✅ WebSocket CONNECTED: sessionId={} user={}", accessor.getSessionId(), accessor.getUser());
+
+        // The principal name is the user id (see StompAuthChannelInterceptor)
+        Principal user = event.getUser();
+        if (user != null && accessor.getSessionId() != null) {
+            presenceService.sessionConnected(Long.valueOf(user.getName()), accessor.getSessionId());
+        }
+        log.debug("✅ WebSocket CONNECTED: sessionId={} user={}", accessor.getSessionId(), accessor.getUser());
     }
 
     @EventListener
     public void handleSessionSubscribe(SessionSubscribeEvent event) {
+        meterRegistry.counter("websocket.subscriptions", "action", "subscribe").increment();
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
-        log.info("📩 WebSocket SUBSCRIBE: sessionId={} destination={}", accessor.getSessionId(), accessor.getDestination());
+        log.debug("📩 WebSocket SUBSCRIBE: sessionId={} destination={}", accessor.getSessionId(), accessor.getDestination());
     }
 
     @EventListener
     public void handleSessionUnsubscribe(SessionUnsubscribeEvent event) {
+        meterRegistry.counter("websocket.subscriptions", "action", "unsubscribe").increment();
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
-        log.info("📭 WebSocket UNSUBSCRIBE: sessionId={} destination={}", accessor.getSessionId(), accessor.getDestination());
+        log.debug("📭 WebSocket UNSUBSCRIBE: sessionId={} destination={}", accessor.getSessionId(), accessor.getDestination());
     }
 
     @EventListener
     public void handleSessionDisconnect(SessionDisconnectEvent event) {
-        log.info("🔴 WebSocket DISCONNECT: sessionId={} closeStatus={}", event.getSessionId(), event.getCloseStatus());
+        presenceService.sessionDisconnected(event.getSessionId());
+        CloseStatus status = event.getCloseStatus();
+        meterRegistry.counter("websocket.sessions.disconnected", "code", String.valueOf(status.getCode())).increment();
+
+        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(status)) {
+            log.warn("🐢 WebSocket session {} evicted: {}", event.getSessionId(), status.getReason());
+        } else {
+            log.debug("🔴 WebSocket DISCONNECT: sessionId={} closeStatus={}", event.getSessionId(), status);
+        }
     }
 }
-
@@ -1,15 +1,54 @@
 package com.biswas.project_management_backend.config;
 
+import com.biswas.project_management_backend.ai.HashingTextEmbedder;
+import com.biswas.project_management_backend.ai.SpringAiTextEmbedder;
+import com.biswas.project_management_backend.ai.StubChatModel;
+import com.biswas.project_management_backend.ai.TextEmbedder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.openai.OpenAiChatModel;
 
+import java.time.Duration;
+
 @Configuration
 public class AiConfig {
 
+    // ai.chat.provider=stub swaps in a canned local model (tests, offline development)
+    @Bean
+    @Primary
+    public ChatModel chatModel(
+            ObjectProvider<OpenAiChatModel> openAiChatModel,
+            @Value("${ai.chat.provider:openai}") String provider,
+            @Value("${ai.stub.chunk-size:8}") int stubChunkSize,
+            @Value("${ai.stub.chunk-delay-ms:20}") long stubChunkDelayMs,
+            @Value("${ai.stub.latency-ms:0}") long stubLatencyMs) {
+        if ("stub".equalsIgnoreCase(provider)) {
+            return new StubChatModel(stubChunkSize, Duration.ofMillis(stubChunkDelayMs), Duration.ofMillis(stubLatencyMs));
+        }
+        return openAiChatModel.getObject();
+    }
+
+    @Bean
+    public ChatClient chatClient(ChatModel chatModel) {
+        return ChatClient.create(chatModel);
+    }
+
+    // ai.embedding.provider=local hashes words locally; openai uses the auto-configured embedding model
     @Bean
-    public ChatClient chatClient(OpenAiChatModel openAiChatModel) {
-        return ChatClient.create(openAiChatModel);
+    public TextEmbedder textEmbedder(
+            ObjectProvider<EmbeddingModel> embeddingModel,
+            @Value("${ai.embedding.provider:local}") String provider,
+            @Value("${ai.embedding.dimensions:256}") int localDimensions,
+            @Value("${spring.ai.openai.embedding.options.model:text-embedding-ada-002}") String openAiModel) {
+        if ("openai".equalsIgnoreCase(provider)) {
+            return new SpringAiTextEmbedder(embeddingModel.getObject(), "openai:" + openAiModel);
+        }
+        return new HashingTextEmbedder(localDimensions);
     }
 }
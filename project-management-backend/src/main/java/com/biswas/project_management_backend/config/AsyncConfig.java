@@ -0,0 +1,136 @@
+package com.biswas.project_management_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String NOTIFICATION_FLUSH_EXECUTOR = "notificationFlushExecutor";
+    public static final String NOTIFICATION_PUSH_EXECUTOR = "notificationPushExecutor";
+    public static final String NOTIFICATION_SSE_EXECUTOR = "notificationSseExecutor";
+    public static final String AI_EXECUTOR = "aiExecutor";
+    public static final String AI_PREFETCH_EXECUTOR = "aiPrefetchExecutor";
+    public static final String AI_EMBEDDING_EXECUTOR = "aiEmbeddingExecutor";
+    public static final String PROFILE_IMAGE_EXECUTOR = "profileImageExecutor";
+
+    // spring.threads.virtual.enabled on JDK 21+: the pools below keep their size and queue
+    // (they are bulkheads) but run their tasks on virtual threads. Always false on JDK 17.
+    private final boolean virtualThreads;
+
+    public AsyncConfig(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    // Persists closed coalescing windows; when full the ticker runs the write itself, which delays later windows
+    @Bean(name = NOTIFICATION_FLUSH_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationFlushExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${notifications.coalescing.flush-pool-size:2}") int poolSize,
+            @Value("${notifications.coalescing.flush-queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = executor("notif-flush-", poolSize, queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        registerQueueDepth(meterRegistry, executor, "flush");
+        return executor;
+    }
+
+    // Broker sends only; kept apart so a slow broker never delays DB writes
+    @Bean(name = NOTIFICATION_PUSH_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationPushExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${notifications.push.pool-size:2}") int poolSize,
+            @Value("${notifications.push.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = executor("notif-push-", poolSize, queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        registerQueueDepth(meterRegistry, executor, "push");
+        return executor;
+    }
+
+    // Writes to SSE clients; at most one drain per connection is queued, so the queue never overflows
+    @Bean(name = NOTIFICATION_SSE_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationSseExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${notifications.sse.pool-size:4}") int poolSize,
+            @Value("${notifications.sse.max-connections:1000}") int maxConnections) {
+        ThreadPoolTaskExecutor executor = executor("notif-sse-", poolSize, maxConnections);
+        registerQueueDepth(meterRegistry, executor, "sse");
+        return executor;
+    }
+
+    // Blocking model calls (see AiBulkhead); a full queue rejects so request threads fail fast
+    @Bean(name = AI_EXECUTOR)
+    public ThreadPoolTaskExecutor aiExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${ai.bulkhead.max-concurrent:8}") int poolSize,
+            @Value("${ai.bulkhead.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = executor("ai-", poolSize, queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        Gauge.builder("ai.bulkhead.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Model calls waiting for an AI executor thread")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    // Background elaborations; the poller only claims as many jobs as there are idle threads
+    @Bean(name = AI_PREFETCH_EXECUTOR)
+    public ThreadPoolTaskExecutor aiPrefetchExecutor(@Value("${ai.prefetch.pool-size:1}") int poolSize) {
+        ThreadPoolTaskExecutor executor = executor("ai-prefetch-", poolSize, poolSize);
+        // Platform threads even in virtual mode: virtual threads ignore priorities
+        executor.setVirtualThreads(false);
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // Task embeddings after commit and index backfills; a full queue drops work that the next index load redoes
+    @Bean(name = AI_EMBEDDING_EXECUTOR)
+    public ThreadPoolTaskExecutor aiEmbeddingExecutor(
+            @Value("${ai.embedding.pool-size:1}") int poolSize,
+            @Value("${ai.embedding.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = executor("ai-embed-", poolSize, queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // Decodes and stores profile uploads; a full queue rejects so the upload endpoint answers 503
+    @Bean(name = PROFILE_IMAGE_EXECUTOR)
+    public ThreadPoolTaskExecutor profileImageExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${image.upload.pool-size:2}") int poolSize,
+            @Value("${image.upload.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = executor("image-", poolSize, queueCapacity);
+        Gauge.builder("image.upload.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Profile image uploads waiting for a processing thread")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private ThreadPoolTaskExecutor executor(String prefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setVirtualThreads(virtualThreads);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    private void registerQueueDepth(MeterRegistry meterRegistry, ThreadPoolTaskExecutor executor, String stage) {
+        Gauge.builder("notifications.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("stage", stage)
+                .description("Pending tasks in the notification executor")
+                .register(meterRegistry);
+    }
+}
@@ -1,6 +1,7 @@
 package com.biswas.project_management_backend.config;
 
 import com.biswas.project_management_backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,6 +52,8 @@ public class SecurityConfig {
                 .cors(cors -> {})             // 👈 enable CORS (uses your CorsConfig)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Streaming responses (SSE) re-dispatch after the authenticated request returned
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/swagger-ui/**",
@@ -58,6 +61,8 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/ws/**"
                         ).permitAll()
+                        // Content-addressed avatars, loaded by <img> tags without a token
+                        .requestMatchers(HttpMethod.GET, "/api/images/*").permitAll()
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()))
@@ -1,26 +1,190 @@
 package com.biswas.project_management_backend.config;
 
+import com.biswas.project_management_backend.aop.PresenceChannelInterceptor;
+import com.biswas.project_management_backend.aop.SessionSendTracker;
+import com.biswas.project_management_backend.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.messaging.simp.stomp.StompReactorNettyCodec;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.tcp.TcpClient;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final SessionSendTracker sessionSendTracker;
+    private final PresenceChannelInterceptor presenceChannelInterceptor;
+
+    // "simple" keeps subscriptions in this JVM; "relay" forwards to an external STOMP broker
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${websocket.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${websocket.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${websocket.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${websocket.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${websocket.relay.heartbeat-send-ms:10000}")
+    private long relayHeartbeatSendMs;
+
+    @Value("${websocket.relay.heartbeat-receive-ms:10000}")
+    private long relayHeartbeatReceiveMs;
+
+    // The relay opens one broker connection per client session plus one system connection
+    @Value("${websocket.relay.max-connections:1000}")
+    private int relayMaxConnections;
+
+    // A session that cannot take a frame within this time, or whose unsent buffer
+    // exceeds the size limit, is closed with SESSION_NOT_RELIABLE
+    @Value("${websocket.transport.send-time-limit-ms:15000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.inbound.pool-size:4}")
+    private int inboundPoolSize;
+
+    @Value("${websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.outbound.pool-size:4}")
+    private int outboundPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    // Server and expected client heartbeat of the simple broker and SockJS
+    @Value("${websocket.heartbeat.interval-ms:10000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${websocket.heartbeat.pool-size:1}")
+    private int heartbeatPoolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler webSocketHeartbeatScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(heartbeatPoolSize);
+        scheduler.setThreadNamePrefix("ws-heartbeat-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");  // for subscribers
+        if (isRelayMode()) {
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode)
+                    .setSystemHeartbeatSendInterval(relayHeartbeatSendMs)
+                    .setSystemHeartbeatReceiveInterval(relayHeartbeatReceiveMs)
+                    // Lets user destinations and the user registry work across nodes
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry")
+                    .setTcpClient(relayTcpClient());
+
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue")  // for subscribers
+                    .setHeartbeatValue(new long[]{heartbeatIntervalMs, heartbeatIntervalMs})
+                    .setTaskScheduler(webSocketHeartbeatScheduler());
+        }
         registry.setApplicationDestinationPrefixes("/app");  // for sending messages
+        registry.setUserDestinationPrefix("/user");  // per-user queues, e.g. /user/queue/notifications
+        // Keeps per-session message order now that the outbound channel has several threads
+        registry.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(sessionSendTracker);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor, presenceChannelInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(inboundPoolSize)
+                .maxPoolSize(inboundPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
-                .withSockJS(); // fallback for browsers without WebSocket
+                .withSockJS() // fallback for browsers without WebSocket
+                .setHeartbeatTime(heartbeatIntervalMs)
+                .setTaskScheduler(webSocketHeartbeatScheduler());
     }
-}
 
+    private boolean isRelayMode() {
+        return "relay".equalsIgnoreCase(brokerMode);
+    }
+
+    private ReactorNettyTcpClient<byte[]> relayTcpClient() {
+        ConnectionProvider pool = ConnectionProvider.builder("stomp-broker-relay")
+                .maxConnections(relayMaxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(10))
+                .maxIdleTime(Duration.ofMinutes(5))
+                .build();
+
+        TcpClient tcpClient = TcpClient.create(pool)
+                .host(relayHost)
+                .port(relayPort);
+
+        return new ReactorNettyTcpClient<>(tcpClient, new StompReactorNettyCodec());
+    }
+}
@@ -0,0 +1,40 @@
+package com.biswas.project_management_backend.config;
+
+import com.biswas.project_management_backend.aop.SessionSendTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/websocket}: broker, channel executor and session statistics
+ * plus the sessions whose writes to the client have been blocked longest.
+ */
+@Component
+@Endpoint(id = "websocket")
+@RequiredArgsConstructor
+public class WebSocketStatsEndpoint {
+
+    private static final int TOP_SESSIONS = 20;
+
+    private final WebSocketMessageBrokerStats brokerStats;
+    private final SessionSendTracker sessionSendTracker;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", brokerStats.getWebSocketSessionStatsInfo());
+        stats.put("stomp", brokerStats.getStompSubProtocolStatsInfo());
+        stats.put("brokerRelay", brokerStats.getStompBrokerRelayStatsInfo());
+        stats.put("inboundChannel", brokerStats.getClientInboundExecutorStatsInfo());
+        stats.put("outboundChannel", brokerStats.getClientOutboundExecutorStatsInfo());
+        stats.put("scheduler", brokerStats.getSockJsTaskSchedulerStatsInfo());
+        stats.put("outboundSending", sessionSendTracker.sendingCount());
+        stats.put("outboundBlockedBySession", sessionSendTracker.topSessions(TOP_SESSIONS));
+        return stats;
+    }
+}
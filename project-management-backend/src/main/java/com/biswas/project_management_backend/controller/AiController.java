@@ -1,11 +1,19 @@
 package com.biswas.project_management_backend.controller;
 
+import com.biswas.project_management_backend.ai.AiUnavailableException;
+import com.biswas.project_management_backend.dto.AiElaborationEventDto;
 import com.biswas.project_management_backend.dto.AiElaborationResponseDto;
 import com.biswas.project_management_backend.service.AiService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 
+import reactor.core.publisher.Flux;
+
 import java.util.Map;
 
 @RestController
@@ -20,4 +28,22 @@ public class AiController {
         return ResponseEntity.ok(aiService.mockElaborateTask(taskId));
     }
 
+    // The servlet thread is released once the Flux is returned; events are written as the model emits them
+    @GetMapping(value = "/elaborate/{taskId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AiElaborationEventDto>> streamElaboration(@PathVariable Long taskId) {
+        return aiService.streamElaboration(taskId)
+                .map(event -> ServerSentEvent.builder(event).event(event.getType()).build());
+    }
+
+    // Shed load is a 503 the client may retry; a model timeout is a 504.
+    // No body, so the SSE endpoint's Accept header cannot break the error response.
+    @ExceptionHandler(AiUnavailableException.class)
+    public ResponseEntity<Void> handleAiUnavailable(AiUnavailableException e) {
+        if (e.isTimeout()) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+    }
 }
@@ -1,7 +1,11 @@
 package com.biswas.project_management_backend.controller;
 
+import com.biswas.project_management_backend.dto.ProfileImageUploadDto;
+import com.biswas.project_management_backend.image.ImageUploadRejectedException;
 import com.biswas.project_management_backend.service.CommonService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -14,12 +18,14 @@ public class CommonController {
 
     private final CommonService commonService;
 
+    // Accepted, not done: the result is pushed to /user/queue/notifications
     @PostMapping("/upload-profile-image")
-    public ResponseEntity<?> uploadProfileImage(
+    public ResponseEntity<ProfileImageUploadDto> uploadProfileImage(
             @RequestParam("file") MultipartFile file,
             Authentication authentication
     ) {
-        return ResponseEntity.ok(commonService.uploadOrUpdateProfileImage(file, authentication));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(commonService.uploadOrUpdateProfileImage(file, authentication));
     }
 
     @DeleteMapping("/delete-profile-image")
@@ -27,4 +33,11 @@ public class CommonController {
         commonService.deleteProfileImage(authentication);
         return ResponseEntity.ok("Profile image deleted successfully");
     }
+
+    @ExceptionHandler(ImageUploadRejectedException.class)
+    public ResponseEntity<String> handleUploadRejected(ImageUploadRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(e.getMessage());
+    }
 }
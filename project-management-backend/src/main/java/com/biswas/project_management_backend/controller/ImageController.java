@@ -0,0 +1,33 @@
+package com.biswas.project_management_backend.controller;
+
+import com.biswas.project_management_backend.image.ContentAddressedImageStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final ContentAddressedImageStore imageStore;
+
+    // The hash names the content, so the response never changes: strong ETag (If-None-Match gives 304)
+    // and a year of immutable caching. A Resource body also answers Range requests with 206 regions.
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getImage(@PathVariable String hash) {
+        return imageStore.find(hash)
+                .<ResponseEntity<Resource>>map(path -> ResponseEntity.ok()
+                        .eTag(hash)
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .body(new FileSystemResource(path)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -1,15 +1,21 @@
 package com.biswas.project_management_backend.controller;
 
-import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.dto.NotificationPageDto;
 import com.biswas.project_management_backend.model.User;
 import com.biswas.project_management_backend.service.NotificationService;
+import com.biswas.project_management_backend.service.NotificationStreamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,24 +24,53 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
 
     @GetMapping
-    public ResponseEntity<List<Notification>> getUserNotifications() {
+    public ResponseEntity<NotificationPageDto> getUserNotifications(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int limit) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
 
-        return ResponseEntity.ok(notificationService.getNotificationsByEmail(email));
+        return ResponseEntity.ok(notificationService.getNotificationPage(email, beforeCreatedAt, beforeId, limit));
+    }
+
+    // SSE alternative to the STOMP queue; event ids are "<createdAt millis>-<notification id>", so reconnects replay via Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return notificationStreamService.subscribe(authentication.getName(), lastEventId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Long> getUnreadCount() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(notificationService.getUnreadCount(authentication.getName()));
+    }
+
+    // STOMP destinations the current user may subscribe to: the personal queue plus one topic per team
+    @GetMapping("/channels")
+    public ResponseEntity<List<String>> getChannels() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(notificationService.getSubscriptionDestinations(authentication.getName()));
     }
 
     @PutMapping("/{id}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
-        notificationService.markAsRead(id);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        notificationService.markAsRead(id, authentication.getName());
         return ResponseEntity.ok().build();
     }
 
-    @PutMapping("/read-all/{userId}")
-    public ResponseEntity<Void> markAllAsRead(@PathVariable Long userId) {
-        notificationService.markAllAsRead(userId);
+    // Always the caller's own notifications; the user is taken from the token, never from the path
+    @PutMapping("/read-all")
+    public ResponseEntity<Void> markAllAsRead() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        notificationService.markAllAsRead(authentication.getName());
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.biswas.project_management_backend.controller;
 
 import com.biswas.project_management_backend.dto.ProjectDto;
+import com.biswas.project_management_backend.dto.UserDto;
 import com.biswas.project_management_backend.model.enm.ProjectStatus;
+import com.biswas.project_management_backend.service.PresenceService;
 import com.biswas.project_management_backend.service.ProjectService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -17,6 +19,7 @@ import java.util.Map;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final PresenceService presenceService;
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ProjectDto> createProject(@RequestBody ProjectDto projectDto) {
@@ -56,4 +59,9 @@ public class ProjectController {
         projectService.deleteProject(id);
         return ResponseEntity.noContent().build();
     }
-}
+
+    @GetMapping("/{id}/members/online")
+    public ResponseEntity<List<UserDto>> getOnlineMembersOfProject(@PathVariable Long id) {
+        return ResponseEntity.ok(presenceService.getOnlineProjectMembers(id));
+    }
+}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.biswas.project_management_backend.controller;
 
+import com.biswas.project_management_backend.dto.SimilarTaskDto;
 import com.biswas.project_management_backend.dto.TaskDto;
 import com.biswas.project_management_backend.dto.mapper.TaskDtoMapper;
 import com.biswas.project_management_backend.service.TaskService;
+import com.biswas.project_management_backend.service.TaskSimilarityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +17,7 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskSimilarityService taskSimilarityService;
 
     // Get all tasks
     @GetMapping("/company/{companyId}")
@@ -55,4 +58,18 @@ public class TaskController {
 
         return ResponseEntity.ok(tasks);
     }
+
+    // Possible duplicates or related work, most similar first
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarTaskDto>> getSimilarTasks(@PathVariable Long id,
+                                                                @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(taskSimilarityService.findSimilar(id, Math.min(limit, 50)));
+    }
+
+    @GetMapping("/company/{companyId}/search")
+    public ResponseEntity<List<SimilarTaskDto>> searchTasks(@PathVariable Long companyId,
+                                                            @RequestParam String q,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(taskSimilarityService.search(companyId, q, Math.min(limit, 50)));
+    }
 }
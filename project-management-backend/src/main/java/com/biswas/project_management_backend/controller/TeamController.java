@@ -4,6 +4,7 @@ import com.biswas.project_management_backend.dto.InviteRequest;
 import com.biswas.project_management_backend.dto.TeamDto;
 import com.biswas.project_management_backend.dto.UserDto;
 import com.biswas.project_management_backend.model.User;
+import com.biswas.project_management_backend.service.PresenceService;
 import com.biswas.project_management_backend.service.TeamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import java.util.List;
 public class TeamController {
 
     private final TeamService teamService;
+    private final PresenceService presenceService;
 
     @PostMapping
     public ResponseEntity<TeamDto> createTeam(@RequestBody TeamDto dto) {
@@ -55,4 +57,9 @@ public class TeamController {
         List<UserDto> members = teamService.getMembersOfTeam(teamId);
         return ResponseEntity.ok(members);
     }
+
+    @GetMapping("/{teamId}/members/online")
+    public ResponseEntity<List<UserDto>> getOnlineMembersOfTeam(@PathVariable Long teamId) {
+        return ResponseEntity.ok(presenceService.getOnlineTeamMembers(teamId));
+    }
 }
\ No newline at end of file
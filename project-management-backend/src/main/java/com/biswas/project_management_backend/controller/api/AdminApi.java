@@ -1,11 +1,20 @@
 package com.biswas.project_management_backend.controller.api;
 
+import com.biswas.project_management_backend.analytics.TaskCubeDimension;
+import com.biswas.project_management_backend.dto.ActiveUsersDto;
 import com.biswas.project_management_backend.dto.AdminAnalyticsDto;
+import com.biswas.project_management_backend.dto.TaskPivotDto;
+import com.biswas.project_management_backend.dto.WebSocketSessionStatsDto;
+import com.biswas.project_management_backend.model.enm.TaskPriority;
+import com.biswas.project_management_backend.model.enm.TaskStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+import java.util.Set;
+
 @RequestMapping("/api/admin")
 public interface AdminApi {
 
@@ -16,6 +25,28 @@ public interface AdminApi {
             @RequestParam(required = false) String dateTo
     );
 
+    @GetMapping("/analytics/active-users")
+    ResponseEntity<ActiveUsersDto> getActiveUsers(
+            @RequestParam Long companyId,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    );
+
+    @GetMapping("/analytics/tasks/pivot")
+    ResponseEntity<TaskPivotDto> getTaskPivot(
+            @RequestParam Long companyId,
+            @RequestParam(required = false) List<TaskCubeDimension> groupBy,
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) Set<TaskPriority> priority,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String dueFrom,
+            @RequestParam(required = false) String dueTo
+    );
+
+    @GetMapping("/websocket/sessions")
+    ResponseEntity<WebSocketSessionStatsDto> getWebSocketSessions();
+
     @PostMapping("/users/upload")
     ResponseEntity<String> uploadUserCSV(
             @RequestParam("file") MultipartFile file,
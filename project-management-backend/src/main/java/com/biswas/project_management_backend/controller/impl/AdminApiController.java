@@ -1,9 +1,19 @@
 package com.biswas.project_management_backend.controller.impl;
 
+import com.biswas.project_management_backend.analytics.TaskCubeDimension;
+import com.biswas.project_management_backend.analytics.TaskCubeFilter;
 import com.biswas.project_management_backend.controller.api.AdminApi;
+import com.biswas.project_management_backend.dto.ActiveUsersDto;
 import com.biswas.project_management_backend.dto.AdminAnalyticsDto;
+import com.biswas.project_management_backend.dto.TaskPivotDto;
+import com.biswas.project_management_backend.dto.WebSocketSessionStatsDto;
+import com.biswas.project_management_backend.model.enm.TaskPriority;
+import com.biswas.project_management_backend.model.enm.TaskStatus;
+import com.biswas.project_management_backend.service.ActiveUserService;
 import com.biswas.project_management_backend.service.AdminService;
 import com.biswas.project_management_backend.service.AnalyticsService;
+import com.biswas.project_management_backend.service.NotificationService;
+import com.biswas.project_management_backend.service.TaskCubeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,6 +21,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
 @RequiredArgsConstructor
 @RestController
 @PreAuthorize("hasRole('ADMIN')")
@@ -18,6 +32,9 @@ public class AdminApiController implements AdminApi {
 
     private final AnalyticsService analyticsService;
     private final AdminService adminService;
+    private final TaskCubeService taskCubeService;
+    private final ActiveUserService activeUserService;
+    private final NotificationService notificationService;
 
     @Override
     public ResponseEntity<AdminAnalyticsDto> getAnalyticsSummary(Long companyId, String dateFrom, String dateTo) {
@@ -25,6 +42,35 @@ public class AdminApiController implements AdminApi {
         return ResponseEntity.ok(summary);
     }
 
+    @Override
+    public ResponseEntity<ActiveUsersDto> getActiveUsers(Long companyId, String dateFrom, String dateTo) {
+        LocalDate from = dateFrom != null ? LocalDate.parse(dateFrom) : null;
+        LocalDate to = dateTo != null ? LocalDate.parse(dateTo) : null;
+        return ResponseEntity.ok(activeUserService.getActiveUsers(companyId, from, to));
+    }
+
+    @Override
+    public ResponseEntity<TaskPivotDto> getTaskPivot(Long companyId, List<TaskCubeDimension> groupBy,
+                                                     Set<TaskStatus> status, Set<TaskPriority> priority,
+                                                     Long assigneeId, Long projectId,
+                                                     String dueFrom, String dueTo) {
+        TaskCubeFilter filter = TaskCubeFilter.builder()
+                .statuses(status)
+                .priorities(priority)
+                .assigneeId(assigneeId)
+                .projectId(projectId)
+                .dueFrom(dueFrom != null ? LocalDate.parse(dueFrom) : null)
+                .dueTo(dueTo != null ? LocalDate.parse(dueTo) : null)
+                .build();
+
+        return ResponseEntity.ok(taskCubeService.pivot(companyId, groupBy, filter));
+    }
+
+    @Override
+    public ResponseEntity<WebSocketSessionStatsDto> getWebSocketSessions() {
+        return ResponseEntity.ok(notificationService.getSessionStats());
+    }
+
     @Override
     public ResponseEntity<String> uploadUserCSV(MultipartFile file, Authentication authentication) {
         try {
@@ -0,0 +1,19 @@
+package com.biswas.project_management_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveUsersDto {
+    private LocalDate from;
+    private LocalDate to;
+    private Long distinctActiveUsers;   // over [from, to]
+    private Long dailyActiveUsers;      // on "to"
+    private Long weeklyActiveUsers;     // 7 days ending on "to"
+    private Long monthlyActiveUsers;    // 30 days ending on "to"
+}
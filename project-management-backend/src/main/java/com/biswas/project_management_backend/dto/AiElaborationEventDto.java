@@ -0,0 +1,31 @@
+package com.biswas.project_management_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One event of a streamed elaboration. {@code type} doubles as the SSE event name.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiElaborationEventDto {
+    public static final String TOKEN = "token";
+    public static final String ELABORATED_TASK = "elaboratedTask";
+    public static final String STEP = "step";
+    public static final String DONE = "done";
+
+    private String type;
+    private String text;
+    private Integer index;  // step position, steps only
+    private AiElaborationResponseDto result;  // done only
+
+    public static AiElaborationEventDto token(String text) {
+        return new AiElaborationEventDto(TOKEN, text, null, null);
+    }
+
+    public static AiElaborationEventDto done(AiElaborationResponseDto result) {
+        return new AiElaborationEventDto(DONE, null, null, result);
+    }
+}
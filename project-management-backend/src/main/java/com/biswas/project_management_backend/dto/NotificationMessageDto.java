@@ -0,0 +1,32 @@
+package com.biswas.project_management_backend.dto;
+
+import com.biswas.project_management_backend.model.enm.NotificationType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wire format of a notification, both for pushes and for the REST endpoints.
+ * Carries no recipient, so nothing lazy is ever touched while serializing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonPropertyOrder({"id", "message", "type", "read", "createdAt", "relatedEntityId"})
+public class NotificationMessageDto {
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long id;
+    private String message;
+    private NotificationType type;
+    private boolean read;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime createdAt;
+    private Long relatedEntityId;
+}
@@ -0,0 +1,21 @@
+package com.biswas.project_management_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of unread notifications. Pass {@code nextBeforeCreatedAt} and
+ * {@code nextBeforeId} back to fetch the following page; both are null on the last one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageDto {
+    private List<NotificationMessageDto> items;
+    private LocalDateTime nextBeforeCreatedAt;
+    private Long nextBeforeId;
+}
@@ -0,0 +1,42 @@
+package com.biswas.project_management_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a background profile image upload. Returned as PENDING by the upload
+ * endpoint, then pushed to /user/queue/notifications once it is READY or FAILED.
+ * A SUPERSEDED upload finished after a newer one and was discarded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProfileImageUploadDto {
+
+    // Tells these pushes apart from notifications on the same queue
+    public static final String TYPE = "PROFILE_IMAGE";
+
+    public static final String PENDING = "PENDING";
+    public static final String READY = "READY";
+    public static final String FAILED = "FAILED";
+    public static final String SUPERSEDED = "SUPERSEDED";
+
+    @Builder.Default
+    private String type = TYPE;
+    private Long imageId;
+    private String status;
+    private String profileImageUrl;
+    private String message;
+
+    public static ProfileImageUploadDto of(Long imageId, String status, String profileImageUrl, String message) {
+        return ProfileImageUploadDto.builder()
+                .imageId(imageId)
+                .status(status)
+                .profileImageUrl(profileImageUrl)
+                .message(message)
+                .build();
+    }
+}
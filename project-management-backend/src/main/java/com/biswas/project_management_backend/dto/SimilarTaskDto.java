@@ -0,0 +1,17 @@
+package com.biswas.project_management_backend.dto;
+
+import com.biswas.project_management_backend.model.enm.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarTaskDto {
+    private Long taskId;
+    private String title;
+    private TaskStatus status;
+    private Long projectId;
+    private float score;  // cosine similarity, 1 = same direction
+}
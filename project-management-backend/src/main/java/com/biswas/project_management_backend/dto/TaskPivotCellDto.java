@@ -0,0 +1,18 @@
+package com.biswas.project_management_backend.dto;
+
+import com.biswas.project_management_backend.model.enm.TaskPriority;
+import com.biswas.project_management_backend.model.enm.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPivotCellDto {
+    private TaskStatus status;       // null unless grouped by STATUS
+    private TaskPriority priority;   // null unless grouped by PRIORITY
+    private Long assigneeId;         // null when unassigned or not grouped by ASSIGNEE
+    private Long projectId;          // null unless grouped by PROJECT
+    private Long count;
+}
@@ -0,0 +1,19 @@
+package com.biswas.project_management_backend.dto;
+
+import com.biswas.project_management_backend.analytics.TaskCubeDimension;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPivotDto {
+    private List<TaskCubeDimension> groupBy;
+    private List<TaskPivotCellDto> cells;
+    private Long matchedTasks;
+    private Long cubeRows;
+    private Long cubeMemoryBytes;
+}
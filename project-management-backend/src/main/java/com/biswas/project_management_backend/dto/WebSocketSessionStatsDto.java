@@ -0,0 +1,13 @@
+package com.biswas.project_management_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebSocketSessionStatsDto {
+    private Integer connectedUsers;
+    private Long connectedSessions;
+}
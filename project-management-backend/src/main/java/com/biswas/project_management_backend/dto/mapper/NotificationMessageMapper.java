@@ -0,0 +1,101 @@
+package com.biswas.project_management_backend.dto.mapper;
+
+import com.biswas.project_management_backend.dto.NotificationMessageDto;
+import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.model.TeamNotification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Maps notifications to {@link NotificationMessageDto} and encodes push payloads.
+ *
+ * A payload is split into a shared body (everything but the id) and a tiny
+ * per-recipient id prefix. Fan-outs encode the body once and only splice the
+ * id for each recipient instead of running Jackson per message.
+ * NotificationPayloadAllocationTest (-Pbenchmark) measures the difference.
+ */
+@Component
+public class NotificationMessageMapper {
+
+    private static final byte[] ID_PREFIX = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectWriter writer;
+
+    public NotificationMessageMapper(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(NotificationMessageDto.class);
+    }
+
+    public NotificationMessageDto toDto(Notification notification) {
+        if (notification == null) return null;
+
+        return NotificationMessageDto.builder()
+                .id(notification.getId())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .read(notification.isRead())
+                .createdAt(notification.getCreatedAt())
+                .relatedEntityId(notification.getRelatedEntityId())
+                .build();
+    }
+
+    // Read state of a team notification is per member; anything listed or pushed is unread
+    public NotificationMessageDto toDto(TeamNotification notification) {
+        if (notification == null) return null;
+
+        return NotificationMessageDto.builder()
+                .id(notification.getId())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .read(false)
+                .createdAt(notification.getCreatedAt())
+                .relatedEntityId(notification.getRelatedEntityId())
+                .build();
+    }
+
+    /**
+     * Serializes everything except the id, e.g. {@code {"message":...,"relatedEntityId":7}}.
+     */
+    public byte[] encodeBody(Notification notification, LocalDateTime createdAtFallback) {
+        return write(toDto(notification), createdAtFallback);
+    }
+
+    public byte[] encodeBody(TeamNotification notification, LocalDateTime createdAtFallback) {
+        return write(toDto(notification), createdAtFallback);
+    }
+
+    /**
+     * Builds {@code {"id":<id>,} + body minus its opening brace}.
+     */
+    public byte[] encode(long id, byte[] body) {
+        byte[] idBytes = Long.toString(id).getBytes(StandardCharsets.US_ASCII);
+        byte[] payload = new byte[ID_PREFIX.length + idBytes.length + 1 + body.length - 1];
+
+        int pos = 0;
+        System.arraycopy(ID_PREFIX, 0, payload, pos, ID_PREFIX.length);
+        pos += ID_PREFIX.length;
+        System.arraycopy(idBytes, 0, payload, pos, idBytes.length);
+        pos += idBytes.length;
+        payload[pos++] = ',';
+        System.arraycopy(body, 1, payload, pos, body.length - 1);
+        return payload;
+    }
+
+    private byte[] write(NotificationMessageDto body, LocalDateTime createdAtFallback) {
+        Long id = body.getId();
+        body.setId(null);
+        if (body.getCreatedAt() == null) {
+            body.setCreatedAt(createdAtFallback);
+        }
+
+        try {
+            return writer.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize notification " + id, e);
+        }
+    }
+}
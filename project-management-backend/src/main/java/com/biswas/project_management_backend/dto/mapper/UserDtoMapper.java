@@ -34,9 +34,8 @@ public class UserDtoMapper implements DtoMapper<User, UserDto> {
         }
         dto.setRoles(roleNames);
 
-        if(user.getProfileImage() != null) {
-            dto.setProfileImageUrl(user.getProfileImage().getUrl());
-        }
+        // Denormalized column: member lists never initialize the lazy profileImage
+        dto.setProfileImageUrl(user.getProfileImageUrl());
 
         return dto;
     }
@@ -0,0 +1,84 @@
+package com.biswas.project_management_backend.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Image files on local disk, named by the SHA-256 of their content
+ * ({@code <dir>/ab/cd/abcd….jpg}). Identical content maps to the same path and
+ * is stored once; a file never changes after it is written, so it can be
+ * served with a strong ETag and cached indefinitely.
+ */
+@Component
+public class ContentAddressedImageStore {
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public ContentAddressedImageStore(@Value("${image.store.dir:./data/images}") String dir) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Moves {@code source} into the store under {@code sha256}, which must be the
+     * hash of its content. If the content is already stored, the source is deleted.
+     *
+     * @return whether this call added the file, false if it was already stored
+     */
+    public boolean put(String sha256, Path source) throws IOException {
+        Path target = pathOf(sha256);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(source);
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+
+        // A concurrent identical upload may land first; replacing it with the same bytes is harmless
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Temp dir on another file system: copy channel to channel next to the target, then rename
+            Path partial = target.resolveSibling(sha256 + ".part");
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long size = in.size();
+                for (long position = 0; position < size; ) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(true);
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(source);
+        }
+        return true;
+    }
+
+    public Optional<Path> find(String sha256) {
+        if (!SHA256.matcher(sha256).matches()) return Optional.empty();
+        Path path = pathOf(sha256);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public void delete(String sha256) throws IOException {
+        if (SHA256.matcher(sha256).matches()) {
+            Files.deleteIfExists(pathOf(sha256));
+        }
+    }
+
+    private Path pathOf(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256 + ".jpg");
+    }
+}
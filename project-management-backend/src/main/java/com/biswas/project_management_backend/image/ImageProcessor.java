@@ -0,0 +1,142 @@
+package com.biswas.project_management_backend.image;
+
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Turns an uploaded image into a set of JPEG avatar variants with bounded memory.
+ *
+ * The source is read once, as a stream. Its dimensions come from the header,
+ * so oversized images are rejected before any pixel is decoded. Decoding then
+ * uses reader subsampling: only every n-th row and column is materialized, so
+ * an 8000px upload is decoded at about twice the largest variant instead of
+ * at full size. Smaller variants are scaled down from the next larger one,
+ * and each is encoded straight to a temporary file (hashed on the way) rather
+ * than into a byte array.
+ */
+@Component
+public class ImageProcessor {
+
+    private final int[] sizes;
+    private final long maxPixels;
+    private final float jpegQuality;
+
+    public ImageProcessor(@Value("${image.variants:512,128,64}") int[] sizes,
+                          @Value("${image.max-pixels:50000000}") long maxPixels,
+                          @Value("${image.jpeg-quality:0.8}") float jpegQuality) {
+        this.sizes = Arrays.stream(sizes).boxed().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+    }
+
+    public ProcessedImage process(InputStream source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) throw new IOException("Invalid image file");
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) throw new IOException("Unsupported image format");
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image is too large: " + width + "x" + height);
+                }
+
+                BufferedImage decoded = decodeSubsampled(reader, width, height);
+                return new ProcessedImage(width, height, reader.getFormatName().toLowerCase(), writeVariants(decoded));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Keeps at least twice the largest variant's resolution so the final downscale stays sharp
+    private BufferedImage decodeSubsampled(ImageReader reader, int width, int height) throws IOException {
+        int step = Math.max(1, Math.max(width, height) / (sizes[0] * 2));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return flatten(reader.read(0, param));
+    }
+
+    private List<ProcessedImage.Variant> writeVariants(BufferedImage decoded) throws IOException {
+        List<ProcessedImage.Variant> variants = new ArrayList<>(sizes.length);
+        BufferedImage previous = decoded;
+        try {
+            for (int size : sizes) {
+                // Never upscale: a small source yields variants at its own size
+                BufferedImage scaled = Math.max(previous.getWidth(), previous.getHeight()) > size
+                        ? Thumbnails.of(previous).size(size, size).asBufferedImage()
+                        : previous;
+                variants.add(write(size, scaled));
+                previous = scaled;
+            }
+            return variants;
+        } catch (IOException | RuntimeException e) {
+            new ProcessedImage(0, 0, null, variants).close();
+            throw e;
+        }
+    }
+
+    private ProcessedImage.Variant write(int size, BufferedImage image) throws IOException {
+        Path file = Files.createTempFile("image-" + size + "-", ".jpg");
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), digest)) {
+            Thumbnails.of(image).scale(1.0).outputQuality(jpegQuality).outputFormat("jpg").toOutputStream(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new ProcessedImage.Variant(size, image.getWidth(), image.getHeight(), file,
+                Files.size(file), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    // JPEG has no alpha channel: composite transparent images onto white once, at the decoded size
+    private static BufferedImage flatten(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha() && image.getType() == BufferedImage.TYPE_INT_RGB) return image;
+
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.biswas.project_management_backend.image;
+
+/**
+ * The image processing queue is full; the client should retry the upload later.
+ */
+public class ImageUploadRejectedException extends RuntimeException {
+
+    public ImageUploadRejectedException(String message) {
+        super(message);
+    }
+}
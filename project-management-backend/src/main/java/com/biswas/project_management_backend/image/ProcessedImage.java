@@ -0,0 +1,37 @@
+package com.biswas.project_management_backend.image;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Variants written by {@link ImageProcessor}, largest first. Each variant is a
+ * temporary file; closing deletes whichever of them the caller did not move away.
+ */
+public record ProcessedImage(int sourceWidth, int sourceHeight, String sourceFormat, List<Variant> variants)
+        implements AutoCloseable {
+
+    /**
+     * @param size   requested bounding box (both sides at most this long)
+     * @param sha256 hex digest of the encoded file, computed while it was written
+     */
+    public record Variant(int size, int width, int height, Path file, long bytes, String sha256) {
+    }
+
+    public Variant largest() {
+        return variants.get(0);
+    }
+
+    @Override
+    public void close() {
+        for (Variant variant : variants) {
+            try {
+                Files.deleteIfExists(variant.file());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.biswas.project_management_backend.model;
 
+import com.biswas.project_management_backend.model.enm.ImageStatus;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 @Entity
 @Table(name = "images")
 @Getter
@@ -16,15 +21,35 @@ public class Image {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String url;
+    @Column
+    private String url; // null while PENDING
 
-    @Column(nullable = false)
-    private String publicId; // from Cloudinary
+    @Column
+    private String publicId; // from Cloudinary, or the content hash for local storage
 
     @Column
     private String format;
 
     @Column
     private Long size; // in bytes
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private ImageStatus status = ImageStatus.READY;
+
+    // Avatar sizes, largest first; url and publicId above are the largest one
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "image_variants", joinColumns = @JoinColumn(name = "image_id"))
+    @OrderBy("size DESC")
+    @Builder.Default
+    private List<ImageVariant> variants = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+    }
 }
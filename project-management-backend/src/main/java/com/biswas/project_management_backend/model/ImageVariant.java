@@ -0,0 +1,36 @@
+package com.biswas.project_management_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageVariant {
+
+    @Column(nullable = false)
+    private Integer size; // bounding box in px
+
+    @Column(nullable = false)
+    private Integer width;
+
+    @Column(nullable = false)
+    private Integer height;
+
+    @Column(nullable = false)
+    private Long bytes;
+
+    @Column(nullable = false)
+    private String url;
+
+    @Column(nullable = false)
+    private String publicId;
+}
@@ -16,8 +16,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Notification {
 
+    // Sequence ids (pooled by 50) let Hibernate batch inserts, which IDENTITY prevents
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,43 @@
+package com.biswas.project_management_backend.model;
+
+import com.biswas.project_management_backend.model.enm.NotificationType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification addressed to every member of a team, stored once.
+ */
+@Entity
+@Table(name = "team_notifications")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamNotification {
+
+    // Shares the personal notification sequence so ids never collide across both tables
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_notifications_seq")
+    @SequenceGenerator(name = "team_notifications_seq", sequenceName = "notifications_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private Long relatedEntityId;
+}
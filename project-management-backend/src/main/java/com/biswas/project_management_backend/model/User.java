@@ -49,4 +49,8 @@ public class User {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "image_id")
     private Image profileImage;
+
+    // Denormalized profileImage.url, set together with profileImage; read this instead of the image
+    @Column(name = "profile_image_url", length = 512)
+    private String profileImageUrl;
 }
@@ -0,0 +1,7 @@
+package com.biswas.project_management_backend.model.enm;
+
+public enum ImageStatus {
+    PENDING,
+    READY,
+    DELETING
+}
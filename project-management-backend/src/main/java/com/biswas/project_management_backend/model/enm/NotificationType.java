@@ -3,6 +3,7 @@ package com.biswas.project_management_backend.model.enm;
 public enum NotificationType {
     TASK_ASSIGNED,
     TASK_UPDATED,
+    TASK_OVERDUE,
     COMMENT_ADDED,
     PROJECT_ASSIGNED,
     PROJECT_UPDATED
@@ -0,0 +1,137 @@
+package com.biswas.project_management_backend.notification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel for many short, coarse-grained timeouts.
+ *
+ * {@link #schedule} may be called from any thread and only appends to a
+ * lock-free inbox. Everything else ({@link #advance}, {@link #drainAll}) must be
+ * driven by one ticker thread, which owns the slots and needs no locking.
+ * Scheduling is O(1), and a tick touches only the entries of its own slot.
+ * A cancelled timeout stays in its slot until that slot's tick drops it.
+ */
+public class TimingWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<ArrayDeque<Entry<T>>> slots;
+    private final Queue<Entry<T>> inbox = new ConcurrentLinkedQueue<>();
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+
+    // Next tick to process; ticker thread only
+    private long currentTick;
+
+    public TimingWheel(long tickMillis, int wheelSize) {
+        this(tickMillis, wheelSize, System::nanoTime);
+    }
+
+    // Tests drive the wheel with a fake clock
+    TimingWheel(long tickMillis, int wheelSize, LongSupplier nanoClock) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = tickMillis * 1_000_000L;
+        this.mask = size - 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    public Timeout schedule(T item, long delayMillis) {
+        Entry<T> entry = new Entry<>(item, nanoClock.getAsLong() + Math.max(0, delayMillis) * 1_000_000L);
+        inbox.offer(entry);
+        return entry;
+    }
+
+    /**
+     * Processes every tick that has elapsed since the previous call and hands
+     * expired items to {@code onExpire}. Ticker thread only.
+     */
+    public void advance(Consumer<T> onExpire) {
+        long elapsedTicks = (nanoClock.getAsLong() - startNanos) / tickNanos;
+        transferInbox();
+
+        while (currentTick <= elapsedTicks) {
+            Iterator<Entry<T>> it = slots.get((int) (currentTick & mask)).iterator();
+            while (it.hasNext()) {
+                Entry<T> entry = it.next();
+                if (entry.cancelled) {
+                    it.remove();
+                } else if (entry.remainingRounds > 0) {
+                    entry.remainingRounds--;
+                } else {
+                    it.remove();
+                    onExpire.accept(entry.item);
+                }
+            }
+            currentTick++;
+        }
+    }
+
+    /**
+     * Removes and returns all pending, not cancelled items regardless of their deadline,
+     * e.g. on shutdown.
+     */
+    public List<T> drainAll() {
+        transferInbox();
+        List<T> items = new ArrayList<>();
+        for (ArrayDeque<Entry<T>> slot : slots) {
+            for (Entry<T> entry : slot) {
+                if (!entry.cancelled) items.add(entry.item);
+            }
+            slot.clear();
+        }
+        return items;
+    }
+
+    private void transferInbox() {
+        Entry<T> entry;
+        while ((entry = inbox.poll()) != null) {
+            // Round up so an item never fires before its deadline; late arrivals go to the next tick
+            long deadlineTick = Math.max(currentTick,
+                    (entry.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+            entry.remainingRounds = (deadlineTick - currentTick) / slots.size();
+            slots.get((int) (deadlineTick & mask)).add(entry);
+        }
+    }
+
+    /**
+     * Handle to a scheduled item.
+     */
+    public interface Timeout {
+
+        /**
+         * Keeps the item from expiring. May be called from any thread; has no
+         * effect once the item was handed to {@code onExpire}.
+         */
+        void cancel();
+    }
+
+    private static final class Entry<T> implements Timeout {
+        private final T item;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Entry(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.biswas.project_management_backend.repository;
+
+import com.biswas.project_management_backend.model.ActiveUserSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ActiveUserSketchRepository extends JpaRepository<ActiveUserSketch, Long> {
+
+    // Row lock so concurrent flushes from several nodes merge instead of overwriting
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ActiveUserSketch> findByCompanyIdAndActivityDate(Long companyId, LocalDate activityDate);
+
+    List<ActiveUserSketch> findByCompanyIdAndActivityDateBetween(Long companyId, LocalDate from, LocalDate to);
+}
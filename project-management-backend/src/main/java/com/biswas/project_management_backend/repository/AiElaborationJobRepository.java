@@ -0,0 +1,22 @@
+package com.biswas.project_management_backend.repository;
+
+import com.biswas.project_management_backend.model.AiElaborationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AiElaborationJobRepository extends JpaRepository<AiElaborationJob, Long> {
+
+    // Same claiming scheme as the notification outbox: several nodes can pull jobs in parallel
+    @Query(value = """
+        SELECT *
+        FROM ai_elaboration_jobs
+        WHERE next_attempt_at <= NOW()
+        ORDER BY next_attempt_at, task_id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<AiElaborationJob> lockNextBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,28 @@
+package com.biswas.project_management_backend.repository;
+
+import com.biswas.project_management_backend.model.AiElaboration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface AiElaborationRepository extends JpaRepository<AiElaboration, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiElaboration e SET e.lastHitAt = :hitAt WHERE e.contentHash = :contentHash")
+    int touch(@Param("contentHash") String contentHash, @Param("hitAt") LocalDateTime hitAt);
+
+    // Entries neither written nor hit since the cutoff; matches idx_ai_elaborations_last_used
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AiElaboration e WHERE COALESCE(e.lastHitAt, e.createdAt) < :cutoff")
+    int deleteUnusedSince(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM AiElaboration e WHERE e.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+}
@@ -1,8 +1,36 @@
 package com.biswas.project_management_backend.repository;
 
 import com.biswas.project_management_backend.model.Image;
+import com.biswas.project_management_backend.model.enm.ImageStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ImageRepository extends JpaRepository<Image, Long> {
 
+    // Content-addressed stores share files between identical uploads
+    @Query("SELECT COUNT(DISTINCT i) FROM Image i JOIN i.variants v WHERE v.publicId = :publicId AND i.status <> :status")
+    long countByVariantPublicIdAndStatusNot(@Param("publicId") String publicId, @Param("status") ImageStatus status);
+
+    // Rows locked by another purger are skipped, so several nodes can purge in parallel
+    @Query(value = """
+        SELECT *
+        FROM images
+        WHERE status = 'DELETING'
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Image> lockNextDeletionBatch(@Param("limit") int limit);
+
+    // Uploads whose worker never finished, e.g. the node went down mid-upload; matches idx_images_pending
+    @Modifying
+    @Query("UPDATE Image i SET i.status = :to WHERE i.status = :from AND i.createdAt < :cutoff")
+    int updateStatusCreatedBefore(@Param("from") ImageStatus from,
+                                  @Param("to") ImageStatus to,
+                                  @Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,18 @@
+package com.biswas.project_management_backend.repository;
+
+import com.biswas.project_management_backend.model.JobWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+
+    // Held for the whole run so only one node sweeps at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM JobWatermark w WHERE w.jobName = :jobName")
+    Optional<JobWatermark> lockByJobName(@Param("jobName") String jobName);
+}
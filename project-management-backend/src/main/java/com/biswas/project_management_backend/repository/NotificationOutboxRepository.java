@@ -0,0 +1,22 @@
+package com.biswas.project_management_backend.repository;
+
+import com.biswas.project_management_backend.model.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Rows locked by another dispatcher are skipped, so several nodes can drain the outbox in parallel
+    @Query(value = """
+        SELECT *
+        FROM notification_outbox
+        WHERE next_attempt_at <= NOW()
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<NotificationOutbox> lockNextBatch(@Param("limit") int limit);
+}
@@ -1,13 +1,63 @@
 package com.biswas.project_management_backend.repository;
 
 import com.biswas.project_management_backend.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(Long recipientId);
 
     List<Notification> findByRecipientIdAndIsReadFalse(Long userId);
 
-    void deleteAllByRecipientId(Long userId);
-}
\ No newline at end of file
+    // First page of the keyset listing
+    List<Notification> findByRecipientIdAndIsReadFalseOrderByCreatedAtDescIdDesc(Long recipientId, Pageable pageable);
+
+    // Following pages: strictly after the (createdAt, id) of the last row already seen
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.recipient.id = :recipientId
+              AND n.isRead = false
+              AND (n.createdAt < :beforeCreatedAt
+                   OR (n.createdAt = :beforeCreatedAt AND n.id < :beforeId))
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findUnreadPageBefore(@Param("recipientId") Long recipientId,
+                                            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                            @Param("beforeId") Long beforeId,
+                                            Pageable pageable);
+
+    // Replay after a reconnect: strictly after the last delivered (createdAt, id), oldest first
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.recipient.id = :recipientId
+              AND n.isRead = false
+              AND (n.createdAt > :afterCreatedAt
+                   OR (n.createdAt = :afterCreatedAt AND n.id > :afterId))
+            ORDER BY n.createdAt ASC, n.id ASC
+            """)
+    List<Notification> findUnreadPageAfter(@Param("recipientId") Long recipientId,
+                                           @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    @Query("SELECT n.createdAt FROM Notification n WHERE n.id = :id")
+    Optional<LocalDateTime> findCreatedAtById(@Param("id") Long id);
+
+    @Query("SELECT n.recipient.id FROM Notification n WHERE n.id = :id")
+    Optional<Long> findRecipientIdById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.recipient.id = :recipientId")
+    int deleteInBulkByRecipientId(@Param("recipientId") Long recipientId);
+}
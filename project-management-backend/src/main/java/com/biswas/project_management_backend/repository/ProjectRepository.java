@@ -4,6 +4,8 @@ import com.biswas.project_management_backend.model.Project;
 import com.biswas.project_management_backend.model.User;
 import com.biswas.project_management_backend.model.enm.ProjectStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -16,4 +18,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Long countByMembersContaining(User user);
     Long countByMembersContainingAndStatus(User user, ProjectStatus projectStatus);
 
+    @Query("SELECT m.id FROM Project p JOIN p.members m WHERE p.id = :projectId")
+    List<Long> findMemberIdsById(@Param("projectId") Long projectId);
+
 }
@@ -0,0 +1,23 @@
+package com.biswas.project_management_backend.repository;
+
+import com.biswas.project_management_backend.model.TaskEmbedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskEmbeddingRepository extends JpaRepository<TaskEmbedding, Long> {
+
+    List<TaskEmbedding> findByCompanyIdAndModel(Long companyId, String model);
+
+    // Tasks of the company with no embedding from the current model yet
+    @Query(value = """
+        SELECT t.id
+        FROM task t
+        LEFT JOIN task_embeddings e ON e.task_id = t.id AND e.model = :model
+        WHERE t.company_id = :companyId
+        AND e.task_id IS NULL
+    """, nativeQuery = true)
+    List<Long> findTaskIdsWithoutEmbedding(@Param("companyId") Long companyId, @Param("model") String model);
+}
@@ -4,14 +4,22 @@ import com.biswas.project_management_backend.model.Task;
 import com.biswas.project_management_backend.model.User;
 import com.biswas.project_management_backend.model.Project;
 import com.biswas.project_management_backend.model.enm.TaskStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -19,13 +27,17 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByProject(Project project);
     List<Task> findByCompanyId(Long companyId);
     List<Task> findByAssignee(User assignee);
-    List<Task> findByProjectAndDueDateBefore(Project project, LocalDate date);
+    List<Task> findByProjectAndDueDateBeforeAndStatusNot(Project project, LocalDate date, TaskStatus status);
     Long countByCompanyId(Long companyId);
     Long countByStatusAndCompanyId(TaskStatus status, Long companyId);
     Long countByDueDateBeforeAndStatusNotAndCompanyId(LocalDate date, TaskStatus status, Long companyId);
     Long countByAssignee(User user);
     Long countByAssigneeAndStatus(User user, TaskStatus taskStatus);
 
+    // Project loaded eagerly for callers outside a request, e.g. background elaboration
+    @EntityGraph(attributePaths = "project")
+    Optional<Task> findWithProjectById(Long id);
+
     @Query("""
         SELECT COUNT(t)
         FROM Task t
@@ -42,4 +54,34 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
         GROUP BY t.status
     """)
     List<Object[]> countTasksByStatusForUser(@Param("userId") Long userId);
+
+    // Flat projection for the analytics cube: id, status, priority, assigneeId, projectId, dueDate.
+    // Must be consumed inside a transaction so the driver can stream with a cursor.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        SELECT t.id, t.status, t.priority, a.id, t.project.id, t.dueDate
+        FROM Task t
+        LEFT JOIN t.assignee a
+        WHERE t.company.id = :companyId
+    """)
+    Stream<Object[]> streamCubeRowsByCompanyId(@Param("companyId") Long companyId);
+
+    // Keyset page of open, assigned tasks due in [from, to), ordered by (due_date, id).
+    // Literal 'DONE' keeps the predicate matching the partial index idx_task_open_due_date.
+    @Query(value = """
+        SELECT t.id, t.title, t.due_date, t.assignee_user_id
+        FROM task t
+        WHERE t.status <> 'DONE'
+        AND t.assignee_user_id IS NOT NULL
+        AND t.due_date >= :from
+        AND t.due_date < :to
+        AND (t.due_date, t.id) > (:afterDueDate, :afterId)
+        ORDER BY t.due_date, t.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findOpenTasksDueBetweenAfter(@Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                @Param("afterDueDate") LocalDate afterDueDate,
+                                                @Param("afterId") Long afterId,
+                                                @Param("limit") int limit);
 }
@@ -0,0 +1,92 @@
+package com.biswas.project_management_backend.repository;
+
+import com.biswas.project_management_backend.model.TeamNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TeamNotificationRepository extends JpaRepository<TeamNotification, Long> {
+
+    // Unread = team notification of one of the user's teams, sent since they joined it, without a read mark.
+    // Every query joins team_members the same way, so a new member never sees the team's earlier history
+    @Query(value = """
+            SELECT tn.* FROM team_notifications tn
+            JOIN team_members tm ON tm.team_id = tn.team_id AND tm.user_id = :userId AND tn.created_at >= tm.joined_at
+            WHERE NOT EXISTS (SELECT 1 FROM team_notification_reads r
+                              WHERE r.team_notification_id = tn.id AND r.user_id = :userId)
+            ORDER BY tn.created_at DESC, tn.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TeamNotification> findUnreadForUser(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT tn.* FROM team_notifications tn
+            JOIN team_members tm ON tm.team_id = tn.team_id AND tm.user_id = :userId AND tn.created_at >= tm.joined_at
+            WHERE NOT EXISTS (SELECT 1 FROM team_notification_reads r
+                              WHERE r.team_notification_id = tn.id AND r.user_id = :userId)
+              AND (tn.created_at < :beforeCreatedAt
+                   OR (tn.created_at = :beforeCreatedAt AND tn.id < :beforeId))
+            ORDER BY tn.created_at DESC, tn.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TeamNotification> findUnreadForUserBefore(@Param("userId") Long userId,
+                                                   @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                   @Param("beforeId") Long beforeId,
+                                                   @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT tn.* FROM team_notifications tn
+            JOIN team_members tm ON tm.team_id = tn.team_id AND tm.user_id = :userId AND tn.created_at >= tm.joined_at
+            WHERE NOT EXISTS (SELECT 1 FROM team_notification_reads r
+                              WHERE r.team_notification_id = tn.id AND r.user_id = :userId)
+              AND (tn.created_at > :afterCreatedAt
+                   OR (tn.created_at = :afterCreatedAt AND tn.id > :afterId))
+            ORDER BY tn.created_at ASC, tn.id ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TeamNotification> findUnreadForUserAfter(@Param("userId") Long userId,
+                                                  @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                  @Param("afterId") Long afterId,
+                                                  @Param("limit") int limit);
+
+    @Query("SELECT tn.createdAt FROM TeamNotification tn WHERE tn.id = :id")
+    Optional<LocalDateTime> findCreatedAtById(@Param("id") Long id);
+
+    @Query(value = """
+            SELECT COUNT(*) FROM team_notifications tn
+            JOIN team_members tm ON tm.team_id = tn.team_id AND tm.user_id = :userId AND tn.created_at >= tm.joined_at
+            WHERE NOT EXISTS (SELECT 1 FROM team_notification_reads r
+                              WHERE r.team_notification_id = tn.id AND r.user_id = :userId)
+            """, nativeQuery = true)
+    long countUnreadForUser(@Param("userId") Long userId);
+
+    // Only members can mark a team notification; returns 0 for unknown ids
+    @Modifying
+    @Query(value = """
+            INSERT INTO team_notification_reads (team_notification_id, user_id)
+            SELECT tn.id, :userId FROM team_notifications tn
+            JOIN team_members tm ON tm.team_id = tn.team_id AND tm.user_id = :userId AND tn.created_at >= tm.joined_at
+            WHERE tn.id = :id
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int markRead(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO team_notification_reads (team_notification_id, user_id)
+            SELECT tn.id, :userId FROM team_notifications tn
+            JOIN team_members tm ON tm.team_id = tn.team_id AND tm.user_id = :userId AND tn.created_at >= tm.joined_at
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int markAllRead(@Param("userId") Long userId);
+
+    // Read marks go with their notification through ON DELETE CASCADE
+    @Modifying
+    @Query("DELETE FROM TeamNotification tn WHERE tn.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -3,6 +3,8 @@ package com.biswas.project_management_backend.repository;
 import com.biswas.project_management_backend.model.Team;
 import com.biswas.project_management_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,5 +16,12 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     boolean existsByName(String name);
     Long countByCompanyId(Long companyId);
     Long countByMembersContaining(User user);
+    boolean existsByIdAndMembersId(Long teamId, Long memberId);
+
+    @Query("SELECT m.id FROM Team t JOIN t.members m WHERE t.id = :teamId")
+    List<Long> findMemberIdsById(@Param("teamId") Long teamId);
+
+    @Query("SELECT t.id FROM Team t JOIN t.members m WHERE m.id = :userId")
+    List<Long> findIdsByMemberId(@Param("userId") Long userId);
 
 }
@@ -1,5 +1,7 @@
 package com.biswas.project_management_backend.security;
 
+import com.biswas.project_management_backend.service.ActiveUserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +22,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final ActiveUserService activeUserService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -43,16 +46,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        final String username = jwtUtil.extractUsername(jwt);
+        // One signature check per request; every claim below is read from this
+        final Claims claims = jwtUtil.parseClaims(jwt);
+        final String username = claims.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+            if (jwtUtil.validateClaims(claims, userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                // In-memory sketch update only; persisted by ActiveUserService's scheduled flush
+                activeUserService.recordActivity(jwtUtil.getCompanyId(claims), userDetails.getUsername());
             }
         }
 
@@ -0,0 +1,128 @@
+package com.biswas.project_management_backend.security;
+
+import com.biswas.project_management_backend.model.User;
+import com.biswas.project_management_backend.repository.TeamRepository;
+import com.biswas.project_management_backend.repository.UserRepository;
+import com.biswas.project_management_backend.service.impl.NotificationOutboxServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates STOMP sessions with the same JWT used for the REST API.
+ *
+ * The session principal's name is the user id, which is what
+ * {@code convertAndSendToUser} resolves {@code /user/queue/...} destinations against.
+ * Subscriptions are checked against an allowlist rather than broker prefixes, because
+ * brokers expand wildcards and the relay's own broadcast topics carry other users'
+ * messages: only the caller's notification queue and the topic of a team the caller
+ * belongs to can be subscribed. Clients may only SEND to application destinations.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String USER_NOTIFICATION_QUEUE = "/user" + NotificationOutboxServiceImpl.NOTIFICATION_QUEUE;
+    private static final Pattern TEAM_TOPIC = Pattern.compile(
+            "^" + Pattern.quote(NotificationOutboxServiceImpl.TEAM_TOPIC_PREFIX)
+                    + "(\\d{1,18})" + Pattern.quote(NotificationOutboxServiceImpl.TEAM_TOPIC_SUFFIX) + "$");
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(authenticate(accessor));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorizeSubscription(accessor.getDestination(), accessor.getUser());
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (destination == null || !destination.startsWith(APPLICATION_PREFIX) || isPattern(destination)) {
+                throw new MessagingException("SEND is only allowed to " + APPLICATION_PREFIX + "*");
+            }
+        }
+        return message;
+    }
+
+    private Principal authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessagingException("Missing bearer token on STOMP CONNECT");
+        }
+
+        String jwt = authHeader.substring(7);
+        String email;
+        try {
+            Claims claims = jwtUtil.parseClaims(jwt);
+            email = claims.getSubject();
+            if (email == null || !jwtUtil.validateClaims(claims, email)) {
+                throw new MessagingException("Invalid token");
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new MessagingException("Invalid token: " + e.getMessage());
+        }
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new MessagingException("User not found"));
+
+        return new UsernamePasswordAuthenticationToken(String.valueOf(user.getId()), null, List.of());
+    }
+
+    private void authorizeSubscription(String destination, Principal principal) {
+        if (principal == null) {
+            throw new MessagingException("Unauthenticated subscription to " + destination);
+        }
+        if (destination == null || isPattern(destination)) {
+            throw new MessagingException("Subscription to " + destination + " is not allowed");
+        }
+        if (USER_NOTIFICATION_QUEUE.equals(destination)) {
+            return;
+        }
+
+        Matcher team = TEAM_TOPIC.matcher(destination);
+        if (!team.matches()) {
+            throw new MessagingException("Subscription to " + destination + " is not allowed");
+        }
+
+        long teamId;
+        long userId;
+        try {
+            teamId = Long.parseLong(team.group(1));
+            userId = Long.parseLong(principal.getName());
+        } catch (NumberFormatException e) {
+            throw new MessagingException("Invalid team destination " + destination);
+        }
+
+        if (!teamRepository.existsByIdAndMembersId(teamId, userId)) {
+            throw new MessagingException("Not a member of team " + teamId);
+        }
+    }
+
+    // Wildcards and placeholders understood by the simple broker (AntPath) and ActiveMQ
+    private static boolean isPattern(String destination) {
+        return destination.indexOf('*') >= 0 || destination.indexOf('{') >= 0
+                || destination.indexOf('>') >= 0 || destination.indexOf('?') >= 0;
+    }
+}
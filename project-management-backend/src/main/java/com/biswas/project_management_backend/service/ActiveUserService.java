@@ -0,0 +1,11 @@
+package com.biswas.project_management_backend.service;
+
+import com.biswas.project_management_backend.dto.ActiveUsersDto;
+
+import java.time.LocalDate;
+
+public interface ActiveUserService {
+    void recordActivity(Long companyId, String userKey);
+    ActiveUsersDto getActiveUsers(Long companyId, LocalDate from, LocalDate to);
+    void flush();
+}
@@ -0,0 +1,20 @@
+package com.biswas.project_management_backend.service;
+
+import com.biswas.project_management_backend.dto.AiElaborationResponseDto;
+import com.biswas.project_management_backend.model.Task;
+
+import java.util.Optional;
+
+public interface AiElaborationCacheService {
+
+    // SHA-256 over the prompt inputs; a changed title or description yields a new key
+    String keyOf(Task task);
+
+    Optional<AiElaborationResponseDto> get(String key);
+    // Presence check for background work; not counted in the hit metrics
+    boolean contains(String key);
+    void put(String key, Long taskId, AiElaborationResponseDto response, long latencyMs);
+    void invalidateTask(Long taskId);
+    // Deletes stored entries that have not been used within the retention period
+    int purgeUnused();
+}
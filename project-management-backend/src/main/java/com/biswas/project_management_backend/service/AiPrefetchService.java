@@ -0,0 +1,10 @@
+package com.biswas.project_management_backend.service;
+
+public interface AiPrefetchService {
+
+    // Joins the caller's transaction, so a rolled-back task is never queued
+    void enqueue(Long taskId);
+
+    // Claims due jobs and hands them to the prefetch workers; returns how many were claimed
+    int drain();
+}
@@ -1,5 +1,6 @@
 package com.biswas.project_management_backend.service;
 
+import com.biswas.project_management_backend.dto.AiElaborationEventDto;
 import com.biswas.project_management_backend.dto.AiElaborationResponseDto;
 import com.biswas.project_management_backend.model.Task;
 import com.biswas.project_management_backend.repository.TaskRepository;
@@ -7,6 +8,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -15,4 +17,17 @@ public interface AiService {
     AiElaborationResponseDto elaborateTask(Long taskId);
     AiElaborationResponseDto mockElaborateTask(Long taskId);
 
+    /**
+     * Streams the elaboration as it is generated: a "token" event per model
+     * chunk, "elaboratedTask" and "step" events as soon as each JSON field is
+     * complete, and a final "done" event carrying the full response.
+     */
+    Flux<AiElaborationEventDto> streamElaboration(Long taskId);
+
+    /**
+     * Elaborates a task into the cache without a waiting user. Bypasses the
+     * interactive bulkhead; returns false if the task is gone or already cached.
+     */
+    boolean prefetchElaboration(Long taskId);
+
 }
\ No newline at end of file
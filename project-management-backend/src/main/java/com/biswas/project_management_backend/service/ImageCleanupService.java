@@ -0,0 +1,11 @@
+package com.biswas.project_management_backend.service;
+
+import com.biswas.project_management_backend.model.Image;
+
+public interface ImageCleanupService {
+
+    // Marks the image DELETING in the caller's transaction; its files are removed by purge()
+    void scheduleDelete(Image image);
+
+    int purge();
+}
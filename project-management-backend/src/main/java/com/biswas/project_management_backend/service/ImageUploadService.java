@@ -1,11 +1,13 @@
 package com.biswas.project_management_backend.service;
 
 import com.biswas.project_management_backend.model.Image;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 public interface ImageUploadService {
-    Image uploadCompressedImage(MultipartFile file) throws IOException;
-    void deleteImage(String publicId);
+    // Fills in the stored files of a PENDING image, marks it READY and saves it
+    Image uploadCompressedImage(InputStream source, Image image) throws IOException;
+    void deleteImages(List<Image> images);
 }
@@ -0,0 +1,11 @@
+package com.biswas.project_management_backend.service;
+
+import java.util.Collection;
+
+public interface NotificationCounterService {
+
+    // One increment per occurrence of a recipient id
+    void increment(Collection<Long> recipientIds);
+    void decrement(Long userId, int count);
+    long getUnreadCount(Long userId);
+}
@@ -0,0 +1,12 @@
+package com.biswas.project_management_backend.service;
+
+import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.model.TeamNotification;
+
+import java.util.List;
+
+public interface NotificationOutboxService {
+    void enqueue(List<Notification> notifications);
+    void enqueue(TeamNotification notification);
+    int dispatch();
+}
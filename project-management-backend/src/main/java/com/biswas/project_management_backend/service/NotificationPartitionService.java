@@ -0,0 +1,5 @@
+package com.biswas.project_management_backend.service;
+
+public interface NotificationPartitionService {
+    void maintain();
+}
@@ -1,15 +1,21 @@
 package com.biswas.project_management_backend.service;
 
-import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.dto.NotificationPageDto;
+import com.biswas.project_management_backend.dto.WebSocketSessionStatsDto;
 import com.biswas.project_management_backend.model.User;
 import com.biswas.project_management_backend.model.enm.NotificationType;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationService {
 
-    Notification createNotification(User recipient, String message, NotificationType type, Long relatedEntityId);
-    List<Notification> getNotificationsByEmail(String email);
-    void markAsRead(Long notificationId);
-    void markAllAsRead(Long userId);
+    void createNotification(User recipient, String message, NotificationType type, Long relatedEntityId);
+    NotificationPageDto getNotificationPage(String email, LocalDateTime beforeCreatedAt, Long beforeId, int limit);
+    long getUnreadCount(String email);
+    void markAsRead(Long notificationId, String email);
+    void markAllAsRead(String email);
+    void createTeamNotification(Long teamId, String message, NotificationType type, Long relatedEntityId);
+    List<String> getSubscriptionDestinations(String email);
+    WebSocketSessionStatsDto getSessionStats();
 }
\ No newline at end of file
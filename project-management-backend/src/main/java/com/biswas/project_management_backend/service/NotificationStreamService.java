@@ -0,0 +1,15 @@
+package com.biswas.project_management_backend.service;
+
+import com.biswas.project_management_backend.model.NotificationOutbox;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+public interface NotificationStreamService {
+
+    // Empty when the registry is full; lastEventId is the id of the last event the client received
+    Optional<SseEmitter> subscribe(String email, String lastEventId);
+    // Reaches the streams of every node, through the broker in relay mode
+    void publish(NotificationOutbox entry);
+    int getConnectionCount();
+}
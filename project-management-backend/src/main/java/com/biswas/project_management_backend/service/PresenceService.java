@@ -0,0 +1,16 @@
+package com.biswas.project_management_backend.service;
+
+import com.biswas.project_management_backend.dto.UserDto;
+
+import java.util.List;
+
+public interface PresenceService {
+
+    void sessionConnected(Long userId, String sessionId);
+    void sessionDisconnected(String sessionId);
+    void touch(String sessionId);
+    boolean isOnline(Long userId);
+    List<UserDto> getOnlineTeamMembers(Long teamId);
+    List<UserDto> getOnlineProjectMembers(Long projectId);
+    int sweepStaleSessions();
+}
@@ -2,11 +2,9 @@ package com.biswas.project_management_backend.service;
 
 import com.biswas.project_management_backend.dto.ProjectDto;
 import com.biswas.project_management_backend.model.Project;
-import com.biswas.project_management_backend.model.User;
 import com.biswas.project_management_backend.model.enm.ProjectStatus;
 
 import java.util.List;
-import java.util.Set;
 
 public interface ProjectService {
 
@@ -14,7 +12,7 @@ public interface ProjectService {
 
     ProjectDto createProject(ProjectDto projectDto);
 
-    void sendNotifications(Set<User> recipients, Project project);
+    void sendNotifications(Project project);
 
     List<ProjectDto> getAllProjects(Long companyId);
 
@@ -0,0 +1,15 @@
+package com.biswas.project_management_backend.service;
+
+import com.biswas.project_management_backend.analytics.TaskCubeDimension;
+import com.biswas.project_management_backend.analytics.TaskCubeFilter;
+import com.biswas.project_management_backend.dto.TaskPivotDto;
+import com.biswas.project_management_backend.model.Task;
+
+import java.util.List;
+
+public interface TaskCubeService {
+    TaskPivotDto pivot(Long companyId, List<TaskCubeDimension> groupBy, TaskCubeFilter filter);
+    void recordTaskWrite(Task task);
+    void recordTaskDelete(Long taskId);
+    void evict(Long companyId);
+}
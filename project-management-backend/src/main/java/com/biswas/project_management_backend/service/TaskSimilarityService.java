@@ -0,0 +1,18 @@
+package com.biswas.project_management_backend.service;
+
+import com.biswas.project_management_backend.dto.SimilarTaskDto;
+import com.biswas.project_management_backend.model.Task;
+
+import java.util.List;
+
+public interface TaskSimilarityService {
+
+    // Tasks of the same company closest in meaning to the given task, the task itself excluded
+    List<SimilarTaskDto> findSimilar(Long taskId, int limit);
+
+    List<SimilarTaskDto> search(Long companyId, String query, int limit);
+
+    // Re-embedded in the background once the writing transaction commits
+    void recordTaskWrite(Task task);
+    void recordTaskDelete(Long taskId);
+}
@@ -0,0 +1,135 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.analytics.HyperLogLog;
+import com.biswas.project_management_backend.dto.ActiveUsersDto;
+import com.biswas.project_management_backend.model.ActiveUserSketch;
+import com.biswas.project_management_backend.repository.ActiveUserSketchRepository;
+import com.biswas.project_management_backend.service.ActiveUserService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks distinct active users per company and day with HyperLogLog sketches.
+ *
+ * Requests only touch an in-memory sketch; a scheduled flush merges those into
+ * the {@code active_user_sketches} table. Past days are dropped from memory once
+ * they have been persisted, so memory stays at one 4 KiB sketch per company.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActiveUserServiceImpl implements ActiveUserService {
+
+    private static final int WEEK_DAYS = 7;
+    private static final int MONTH_DAYS = 30;
+
+    private final ActiveUserSketchRepository sketchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SketchKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordActivity(Long companyId, String userKey) {
+        if (companyId == null || userKey == null) return;
+
+        pending.computeIfAbsent(new SketchKey(companyId, LocalDate.now()), key -> new HyperLogLog())
+                .offer(userKey);
+    }
+
+    @Override
+    public ActiveUsersDto getActiveUsers(Long companyId, LocalDate from, LocalDate to) {
+        if (to == null) to = LocalDate.now();
+        if (from == null) from = to.minusDays(MONTH_DAYS - 1);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("dateFrom must not be after dateTo");
+        }
+
+        LocalDate monthStart = to.minusDays(MONTH_DAYS - 1);
+        LocalDate scanFrom = from.isBefore(monthStart) ? from : monthStart;
+
+        Map<LocalDate, HyperLogLog> days = new HashMap<>();
+        for (ActiveUserSketch row : sketchRepository.findByCompanyIdAndActivityDateBetween(companyId, scanFrom, to)) {
+            days.computeIfAbsent(row.getActivityDate(), d -> new HyperLogLog())
+                    .merge(HyperLogLog.fromBytes(row.getRegisters()));
+        }
+        for (Map.Entry<SketchKey, HyperLogLog> entry : pending.entrySet()) {
+            SketchKey key = entry.getKey();
+            if (key.companyId().equals(companyId) && !key.day().isBefore(scanFrom) && !key.day().isAfter(to)) {
+                days.computeIfAbsent(key.day(), d -> new HyperLogLog()).merge(entry.getValue());
+            }
+        }
+
+        return new ActiveUsersDto(
+                from,
+                to,
+                union(days, from, to),
+                union(days, to, to),
+                union(days, to.minusDays(WEEK_DAYS - 1), to),
+                union(days, monthStart, to)
+        );
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${analytics.active-users.flush-interval-ms:300000}")
+    public void flush() {
+        LocalDate today = LocalDate.now();
+
+        for (Map.Entry<SketchKey, HyperLogLog> entry : pending.entrySet()) {
+            SketchKey key = entry.getKey();
+            HyperLogLog sketch = entry.getValue();
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> store(key, sketch));
+            } catch (Exception e) {
+                log.error("❌ Failed to persist active-user sketch {}: {}", key, e.getMessage());
+                continue;
+            }
+
+            // Late offers for a past day simply start a fresh sketch that is merged on the next flush
+            if (key.day().isBefore(today)) {
+                pending.remove(key, sketch);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void store(SketchKey key, HyperLogLog sketch) {
+        ActiveUserSketch row = sketchRepository.findByCompanyIdAndActivityDate(key.companyId(), key.day())
+                .orElseGet(() -> ActiveUserSketch.builder()
+                        .companyId(key.companyId())
+                        .activityDate(key.day())
+                        .build());
+
+        HyperLogLog merged = row.getRegisters() != null
+                ? HyperLogLog.fromBytes(row.getRegisters()).merge(sketch)
+                : HyperLogLog.fromBytes(sketch.toBytes());
+
+        row.setRegisters(merged.toBytes());
+        sketchRepository.save(row);
+    }
+
+    private long union(Map<LocalDate, HyperLogLog> days, LocalDate from, LocalDate to) {
+        HyperLogLog union = new HyperLogLog();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            HyperLogLog sketch = days.get(day);
+            if (sketch != null) union.merge(sketch);
+        }
+        return union.cardinality();
+    }
+
+    private record SketchKey(Long companyId, LocalDate day) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.ai.LruCache;
+import com.biswas.project_management_backend.dto.AiElaborationResponseDto;
+import com.biswas.project_management_backend.model.AiElaboration;
+import com.biswas.project_management_backend.model.Task;
+import com.biswas.project_management_backend.repository.AiElaborationRepository;
+import com.biswas.project_management_backend.service.AiElaborationCacheService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache of AI elaborations: an in-memory LRU in front of the
+ * {@code ai_elaborations} table.
+ *
+ * Entries are addressed by a hash of everything that goes into the prompt
+ * (prompt version, model, project and task text), so an edited task simply
+ * misses. {@link #invalidateTask(Long)} additionally drops the superseded
+ * entries so they do not linger in either tier. Each hit adds the latency of
+ * the original model call to ai.elaboration.cache.latency.saved.
+ *
+ * Stored entries not used for {@code ai.cache.db.retention-days} are purged.
+ * A database-tier hit refreshes {@code last_hit_at} at most once a day per
+ * entry, which is all the precision a retention counted in days needs, so most
+ * hits stay read-only.
+ */
+@Slf4j
+@Service
+public class AiElaborationCacheServiceImpl implements AiElaborationCacheService {
+
+    // Bump when the elaboration prompt changes so old answers stop matching
+    private static final String PROMPT_VERSION = "1";
+    private static final char SEPARATOR = '\u0000';
+    private static final Duration TOUCH_INTERVAL = Duration.ofDays(1);
+
+    private final AiElaborationRepository repository;
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, CachedElaboration> memory;
+    private final String modelId;
+    private final Duration retention;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter latencySaved;
+
+    public AiElaborationCacheServiceImpl(AiElaborationRepository repository,
+                                         ObjectMapper objectMapper,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${ai.cache.memory.max-entries:1000}") int maxEntries,
+                                         @Value("${ai.chat.provider:openai}") String provider,
+                                         @Value("${spring.ai.openai.chat.options.model:}") String model,
+                                         @Value("${ai.cache.db.retention-days:30}") int retentionDays) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.memory = new LruCache<>(maxEntries);
+        this.modelId = provider + ":" + model;
+        this.retention = Duration.ofDays(retentionDays);
+
+        this.memoryHits = meterRegistry.counter("ai.elaboration.cache.requests", "result", "hit", "tier", "memory");
+        this.databaseHits = meterRegistry.counter("ai.elaboration.cache.requests", "result", "hit", "tier", "db");
+        this.misses = meterRegistry.counter("ai.elaboration.cache.requests", "result", "miss", "tier", "none");
+        this.latencySaved = Counter.builder("ai.elaboration.cache.latency.saved")
+                .baseUnit("milliseconds")
+                .description("Model latency avoided by cache hits")
+                .register(meterRegistry);
+        Gauge.builder("ai.elaboration.cache.hit.ratio", this, AiElaborationCacheServiceImpl::hitRatio)
+                .description("Share of elaboration requests served from cache")
+                .register(meterRegistry);
+        Gauge.builder("ai.elaboration.cache.size", memory, LruCache::size)
+                .tag("tier", "memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String keyOf(Task task) {
+        String material = String.join(String.valueOf(SEPARATOR),
+                PROMPT_VERSION,
+                modelId,
+                Objects.toString(task.getProject().getName(), ""),
+                Objects.toString(task.getProject().getDescription(), ""),
+                Objects.toString(task.getTitle(), ""),
+                Objects.toString(task.getDescription(), ""));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Not transactional: memory hits must not check out a connection
+    @Override
+    public Optional<AiElaborationResponseDto> get(String key) {
+        lookups.incrementAndGet();
+
+        CachedElaboration cached = memory.get(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(hit(cached));
+        }
+
+        Optional<AiElaboration> stored = repository.findById(key);
+        if (stored.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        AiElaboration row = stored.get();
+        try {
+            cached = new CachedElaboration(row.getTaskId(),
+                    objectMapper.readValue(row.getResponse(), AiElaborationResponseDto.class),
+                    row.getLatencyMs());
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable cached elaboration {}", key, e);
+            repository.delete(row);
+            misses.increment();
+            return Optional.empty();
+        }
+
+        memory.put(key, cached);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastUsed = row.getLastHitAt() != null ? row.getLastHitAt() : row.getCreatedAt();
+        if (lastUsed == null || lastUsed.isBefore(now.minus(TOUCH_INTERVAL))) {
+            repository.touch(key, now);
+        }
+        databaseHits.increment();
+        return Optional.of(hit(cached));
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return memory.get(key) != null || repository.existsById(key);
+    }
+
+    @Override
+    public void put(String key, Long taskId, AiElaborationResponseDto response, long latencyMs) {
+        memory.put(key, new CachedElaboration(taskId, copy(response), latencyMs));
+        try {
+            repository.saveAndFlush(AiElaboration.builder()
+                    .contentHash(key)
+                    .taskId(taskId)
+                    .response(objectMapper.writeValueAsString(response))
+                    .latencyMs(latencyMs)
+                    .build());
+        } catch (JsonProcessingException | DataAccessException e) {
+            // A concurrent insert of the same key or a deleted task; the memory tier still serves it
+            log.debug("Elaboration {} not persisted: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void invalidateTask(Long taskId) {
+        memory.removeIf((key, cached) -> taskId.equals(cached.taskId()));
+        repository.deleteByTaskId(taskId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ai.cache.db.purge-interval-ms:3600000}")
+    public int purgeUnused() {
+        int deleted = repository.deleteUnusedSince(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("🧹 Purged {} elaboration(s) unused for {} days", deleted, retention.toDays());
+        }
+        return deleted;
+    }
+
+    private AiElaborationResponseDto hit(CachedElaboration cached) {
+        hits.incrementAndGet();
+        latencySaved.increment(cached.latencyMs());
+        return copy(cached.response());
+    }
+
+    private double hitRatio() {
+        long total = lookups.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    // Callers get their own instance so the cached one is never mutated
+    private static AiElaborationResponseDto copy(AiElaborationResponseDto source) {
+        AiElaborationResponseDto copy = new AiElaborationResponseDto();
+        copy.setElaboratedTask(source.getElaboratedTask());
+        copy.setSteps(source.getSteps() == null ? List.of() : List.copyOf(source.getSteps()));
+        return copy;
+    }
+
+    private record CachedElaboration(Long taskId, AiElaborationResponseDto response, long latencyMs) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.ai.AiBulkhead;
+import com.biswas.project_management_backend.ai.AiUnavailableException;
+import com.biswas.project_management_backend.ai.RateLimiter;
+import com.biswas.project_management_backend.config.AsyncConfig;
+import com.biswas.project_management_backend.model.AiElaborationJob;
+import com.biswas.project_management_backend.repository.AiElaborationJobRepository;
+import com.biswas.project_management_backend.service.AiPrefetchService;
+import com.biswas.project_management_backend.service.AiService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Low-priority background elaboration of new tasks, so the answer is usually
+ * cached before anyone clicks "elaborate".
+ *
+ * Jobs live in {@code ai_elaboration_jobs}. A poll claims due rows with
+ * {@code FOR UPDATE SKIP LOCKED} and leases them by moving next_attempt_at
+ * forward, then commits before any model call: a job whose worker dies simply
+ * becomes due again once the lease runs out. Workers delete the row on success
+ * and push it back with a growing delay on failure.
+ *
+ * Interactive traffic always wins: no jobs are claimed while the bulkhead is
+ * above ai.prefetch.max-interactive-load, and workers re-check before each call
+ * and defer their job if it went up meanwhile. Background calls go through the
+ * same bulkhead, so they take a permit, are bounded by its timeout and are
+ * deferred rather than failed when it sheds load. On top of that, the
+ * background calls of each node are spaced by ai.prefetch.rate-per-minute;
+ * the limit is per node, so a cluster of N nodes prefetches at up to N times
+ * that rate. Interactive calls are not rate-limited.
+ */
+@Slf4j
+@Service
+public class AiPrefetchServiceImpl implements AiPrefetchService {
+
+    private final AiElaborationJobRepository jobRepository;
+    private final AiService aiService;
+    private final AiBulkhead aiBulkhead;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor prefetchExecutor;
+    private final MeterRegistry meterRegistry;
+    private final RateLimiter rateLimiter;
+
+    @Value("${ai.prefetch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ai.prefetch.batch-size:10}")
+    private int batchSize;
+
+    @Value("${ai.prefetch.max-interactive-load:0.5}")
+    private double maxInteractiveLoad;
+
+    @Value("${ai.prefetch.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${ai.prefetch.backoff-seconds:60}")
+    private long backoffSeconds;
+
+    @Value("${ai.prefetch.max-attempts:3}")
+    private int maxAttempts;
+
+    public AiPrefetchServiceImpl(AiElaborationJobRepository jobRepository,
+                                 AiService aiService,
+                                 AiBulkhead aiBulkhead,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier(AsyncConfig.AI_PREFETCH_EXECUTOR) ThreadPoolTaskExecutor prefetchExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${ai.prefetch.rate-per-minute:30}") double ratePerMinute) {
+        this.jobRepository = jobRepository;
+        this.aiService = aiService;
+        this.aiBulkhead = aiBulkhead;
+        this.transactionTemplate = transactionTemplate;
+        this.prefetchExecutor = prefetchExecutor;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = new RateLimiter(ratePerMinute);
+    }
+
+    @Override
+    public void enqueue(Long taskId) {
+        if (!enabled) return;
+        jobRepository.save(AiElaborationJob.builder().taskId(taskId).build());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ai.prefetch.poll-interval-ms:5000}")
+    public int drain() {
+        if (!enabled) return 0;
+
+        if (interactiveBusy()) {
+            meterRegistry.counter("ai.prefetch.backoffs", "stage", "claim").increment();
+            return 0;
+        }
+
+        // Never claim more than idle workers can start; the rest stays in the table
+        int idle = prefetchExecutor.getMaxPoolSize() - prefetchExecutor.getActiveCount()
+                - prefetchExecutor.getThreadPoolExecutor().getQueue().size();
+        int limit = Math.min(batchSize, idle);
+        if (limit <= 0) return 0;
+
+        List<Long> taskIds = transactionTemplate.execute(status -> claim(limit));
+        if (taskIds == null) return 0;
+
+        for (Long taskId : taskIds) {
+            prefetchExecutor.execute(() -> process(taskId));
+        }
+        return taskIds.size();
+    }
+
+    private List<Long> claim(int limit) {
+        List<AiElaborationJob> jobs = jobRepository.lockNextBatch(limit);
+        LocalDateTime leaseUntil = LocalDateTime.now().plusSeconds(leaseSeconds);
+        for (AiElaborationJob job : jobs) {
+            job.setAttempts(job.getAttempts() + 1);
+            job.setNextAttemptAt(leaseUntil);
+        }
+        return jobs.stream().map(AiElaborationJob::getTaskId).collect(Collectors.toList());
+    }
+
+    private void process(Long taskId) {
+        try {
+            rateLimiter.acquire();
+            if (interactiveBusy()) {
+                // Give the attempt back; the job is retried after the backoff
+                meterRegistry.counter("ai.prefetch.backoffs", "stage", "call").increment();
+                reschedule(taskId, false);
+                return;
+            }
+
+            boolean elaborated = aiService.prefetchElaboration(taskId);
+            jobRepository.deleteById(taskId);
+            meterRegistry.counter("ai.prefetch.jobs", "result", elaborated ? "elaborated" : "skipped").increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (AiUnavailableException e) {
+            // Shed by the bulkhead: not the job's fault, so it keeps its attempt
+            if (!e.isTimeout()) {
+                meterRegistry.counter("ai.prefetch.backoffs", "stage", "bulkhead").increment();
+                reschedule(taskId, false);
+                return;
+            }
+            log.warn("⚠️ Background elaboration of task {} timed out", taskId);
+            reschedule(taskId, true);
+        } catch (Exception e) {
+            log.warn("⚠️ Background elaboration of task {} failed: {}", taskId, e.getMessage());
+            reschedule(taskId, true);
+        }
+    }
+
+    private void reschedule(Long taskId, boolean failed) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(taskId).ifPresent(job -> {
+            if (failed && job.getAttempts() >= maxAttempts) {
+                jobRepository.delete(job);
+                meterRegistry.counter("ai.prefetch.jobs", "result", "dropped").increment();
+                return;
+            }
+            if (!failed) job.setAttempts(job.getAttempts() - 1);
+            // Linear in the attempt count: 60s, 120s, 180s, ...
+            job.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds * Math.max(1, job.getAttempts())));
+            if (failed) meterRegistry.counter("ai.prefetch.jobs", "result", "failed").increment();
+        }));
+    }
+
+    private boolean interactiveBusy() {
+        return aiBulkhead.getLoad() >= maxInteractiveLoad;
+    }
+}
@@ -1,21 +1,32 @@
 package com.biswas.project_management_backend.service.impl;
 
+import com.biswas.project_management_backend.ai.AiBulkhead;
+import com.biswas.project_management_backend.ai.ElaborationStreamParser;
+import com.biswas.project_management_backend.dto.AiElaborationEventDto;
 import com.biswas.project_management_backend.dto.AiElaborationResponseDto;
 import com.biswas.project_management_backend.model.Task;
 import com.biswas.project_management_backend.repository.TaskRepository;
+import com.biswas.project_management_backend.service.AiElaborationCacheService;
 import com.biswas.project_management_backend.service.AiService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class AiServiceImpl implements AiService {
     private final ChatClient chatClient;
     private final TaskRepository taskRepository;
+    private final AiElaborationCacheService elaborationCache;
+    private final AiBulkhead aiBulkhead;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -23,7 +34,112 @@ public class AiServiceImpl implements AiService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        String prompt = String.format("""
+        String cacheKey = elaborationCache.keyOf(task);
+        Optional<AiElaborationResponseDto> cached = elaborationCache.get(cacheKey);
+        if (cached.isPresent()) return cached.get();
+
+        String prompt = buildPrompt(task);
+        long startedAt = System.nanoTime();
+        String aiResponse = aiBulkhead.call(() -> chatClient.prompt()
+                .user(prompt)
+                .call()
+                .content());
+        long latencyMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        Optional<AiElaborationResponseDto> parsed = parse(aiResponse);
+        // Only well-formed answers are cached; a malformed one gets another try next time
+        parsed.ifPresent(response -> elaborationCache.put(cacheKey, taskId, response, latencyMs));
+
+        return parsed.orElseGet(() -> {
+            AiElaborationResponseDto response = new AiElaborationResponseDto();
+            response.setElaboratedTask(aiResponse);
+            response.setSteps(List.of());
+            return response;
+        });
+    }
+
+    @Override
+    public boolean prefetchElaboration(Long taskId) {
+        Optional<Task> task = taskRepository.findWithProjectById(taskId);
+        if (task.isEmpty()) return false;
+
+        String cacheKey = elaborationCache.keyOf(task.get());
+        if (elaborationCache.contains(cacheKey)) return false;
+
+        String prompt = buildPrompt(task.get());
+        long startedAt = System.nanoTime();
+        // Same admission and timeout as interactive calls; a rejection reaches the caller as AiUnavailableException
+        String aiResponse = aiBulkhead.call(() -> chatClient.prompt()
+                .user(prompt)
+                .call()
+                .content());
+        long latencyMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        Optional<AiElaborationResponseDto> parsed = parse(aiResponse);
+        if (parsed.isEmpty()) throw new IllegalStateException("Model returned no elaboration JSON for task " + taskId);
+        elaborationCache.put(cacheKey, taskId, parsed.get(), latencyMs);
+        return true;
+    }
+
+    private Optional<AiElaborationResponseDto> parse(String aiResponse) {
+        if (aiResponse == null || !aiResponse.trim().startsWith("{")) return Optional.empty();
+        try {
+            return Optional.of(objectMapper.readValue(aiResponse, AiElaborationResponseDto.class));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Flux<AiElaborationEventDto> streamElaboration(Long taskId) {
+        // Resolved on the calling thread so the lazy project is read inside the request
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        String cacheKey = elaborationCache.keyOf(task);
+        Optional<AiElaborationResponseDto> cached = elaborationCache.get(cacheKey);
+        if (cached.isPresent()) return Flux.fromIterable(replay(cached.get()));
+
+        String prompt = buildPrompt(task);
+
+        return aiBulkhead.stream(() -> {
+            long startedAt = System.nanoTime();
+            ElaborationStreamParser parser = new ElaborationStreamParser(objectMapper.getFactory());
+            Flux<AiElaborationEventDto> chunks = chatClient.prompt()
+                    .user(prompt)
+                    .stream()
+                    .content()
+                    .concatMapIterable(chunk -> {
+                        List<AiElaborationEventDto> events = new ArrayList<>();
+                        events.add(AiElaborationEventDto.token(chunk));
+                        events.addAll(parser.accept(chunk));
+                        return events;
+                    });
+            // The cache write is blocking JDBC, so it is moved off the model's I/O thread
+            Mono<AiElaborationEventDto> done = Mono.fromCallable(() -> {
+                AiElaborationResponseDto response = parser.finish();
+                if (parser.isParsed()) {
+                    long latencyMs = (System.nanoTime() - startedAt) / 1_000_000;
+                    elaborationCache.put(cacheKey, taskId, response, latencyMs);
+                }
+                return AiElaborationEventDto.done(response);
+            }).subscribeOn(Schedulers.boundedElastic());
+            return chunks.concatWith(done);
+        });
+    }
+
+    // A cache hit is sent as the same field events a live stream ends up with, minus the tokens
+    private List<AiElaborationEventDto> replay(AiElaborationResponseDto response) {
+        List<AiElaborationEventDto> events = new ArrayList<>();
+        events.add(new AiElaborationEventDto(AiElaborationEventDto.ELABORATED_TASK, response.getElaboratedTask(), null, null));
+        for (int i = 0; i < response.getSteps().size(); i++) {
+            events.add(new AiElaborationEventDto(AiElaborationEventDto.STEP, response.getSteps().get(i), i, null));
+        }
+        events.add(AiElaborationEventDto.done(response));
+        return events;
+    }
+
+    private String buildPrompt(Task task) {
+        return String.format("""
             You are an expert AI project assistant.
             Elaborate the following task clearly and list 3-6 actionable steps.
 
@@ -44,27 +160,6 @@ public class AiServiceImpl implements AiService {
                 task.getTitle(),
                 task.getDescription()
         );
-
-        String aiResponse = chatClient.prompt()
-                .user(prompt)
-                .call()
-                .content();
-
-        AiElaborationResponseDto response = new AiElaborationResponseDto();
-
-        try {
-            if (aiResponse.trim().startsWith("{")) {
-                response = objectMapper.readValue(aiResponse, AiElaborationResponseDto.class);
-            } else {
-                response.setElaboratedTask(aiResponse);
-                response.setSteps(List.of());
-            }
-        } catch (Exception e) {
-            response.setElaboratedTask(aiResponse);
-            response.setSteps(List.of());
-        }
-
-        return response;
     }
 
     @Override
@@ -1,32 +1,76 @@
 package com.biswas.project_management_backend.service.impl;
 
-import com.biswas.project_management_backend.dto.UserDto;
-import com.biswas.project_management_backend.dto.mapper.UserDtoMapper;
+import com.biswas.project_management_backend.config.AsyncConfig;
+import com.biswas.project_management_backend.dto.ProfileImageUploadDto;
+import com.biswas.project_management_backend.image.ImageUploadRejectedException;
 import com.biswas.project_management_backend.model.Image;
 import com.biswas.project_management_backend.model.User;
+import com.biswas.project_management_backend.model.enm.ImageStatus;
 import com.biswas.project_management_backend.repository.ImageRepository;
 import com.biswas.project_management_backend.repository.UserRepository;
 import com.biswas.project_management_backend.service.CommonService;
+import com.biswas.project_management_backend.service.ImageCleanupService;
 import com.biswas.project_management_backend.service.ImageUploadService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Profile image uploads are accepted as a PENDING image and processed on the
+ * profile image executor: decode, store, then attach to the user in a short
+ * transaction. The outcome is pushed to /user/queue/notifications. Replaced
+ * images are handed to {@link ImageCleanupService} instead of being deleted
+ * inside the request.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class CommonServiceImpl implements CommonService {
 
+    // Spooled uploads in java.io.tmpdir; ImageCleanupService removes those a dead worker left behind
+    static final String UPLOAD_FILE_PREFIX = "profile-upload-";
+
     private final ImageUploadService imageUploadService;
+    private final ImageCleanupService imageCleanupService;
     private final UserRepository userRepository;
     private final ImageRepository imageRepository;
-    private final UserDtoMapper userDtoMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public CommonServiceImpl(ImageUploadService imageUploadService,
+                             ImageCleanupService imageCleanupService,
+                             UserRepository userRepository,
+                             ImageRepository imageRepository,
+                             SimpMessagingTemplate messagingTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Qualifier(AsyncConfig.PROFILE_IMAGE_EXECUTOR) ThreadPoolTaskExecutor imageExecutor,
+                             MeterRegistry meterRegistry) {
+        this.imageUploadService = imageUploadService;
+        this.imageCleanupService = imageCleanupService;
+        this.userRepository = userRepository;
+        this.imageRepository = imageRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.imageExecutor = imageExecutor;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
-    public UserDto uploadOrUpdateProfileImage(MultipartFile file, Authentication authentication) {
+    public ProfileImageUploadDto uploadOrUpdateProfileImage(MultipartFile file, Authentication authentication) {
         if (file.isEmpty()) {
             throw new RuntimeException("File cannot be empty");
         }
@@ -35,30 +79,76 @@ public class CommonServiceImpl implements CommonService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // The multipart file is gone once the request ends; keep our own copy for the worker
+        Path upload;
         try {
+            upload = Files.createTempFile(UPLOAD_FILE_PREFIX, ".tmp");
+            file.transferTo(upload);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to upload image", e);
+        }
 
-            if (user.getProfileImage() != null) {
-                Image oldImage = user.getProfileImage();
+        Image pending = imageRepository.save(Image.builder().status(ImageStatus.PENDING).build());
+        Long userId = user.getId();
+        try {
+            imageExecutor.execute(() -> processUpload(userId, pending.getId(), upload));
+        } catch (TaskRejectedException e) {
+            imageRepository.delete(pending);
+            deleteQuietly(upload);
+            meterRegistry.counter("image.upload.jobs", "result", "rejected").increment();
+            throw new ImageUploadRejectedException("Too many image uploads in progress, try again shortly");
+        }
 
-                user.setProfileImage(null);
-                userRepository.save(user);
+        return ProfileImageUploadDto.of(pending.getId(), ProfileImageUploadDto.PENDING, null, null);
+    }
 
-                imageUploadService.deleteImage(oldImage.getPublicId());
-                imageRepository.delete(oldImage);
-            }
+    private void processUpload(Long userId, Long imageId, Path upload) {
+        ProfileImageUploadDto result;
+        try (InputStream in = Files.newInputStream(upload)) {
+            // Not PENDING once the cleanup has given up on it after waiting too long in the queue
+            Image image = imageRepository.findById(imageId)
+                    .filter(pending -> pending.getStatus() == ImageStatus.PENDING)
+                    .orElseThrow(() -> new RuntimeException("Image no longer pending, id " + imageId));
+            Image stored = imageUploadService.uploadCompressedImage(in, image);
+            result = transactionTemplate.execute(status -> attachProfileImage(userId, stored));
+            meterRegistry.counter("image.upload.jobs", "result", result.getStatus().toLowerCase()).increment();
+        } catch (Exception e) {
+            log.warn("⚠️ Profile image {} for user {} failed: {}", imageId, userId, e.getMessage());
+            // The upload service removes variants it stored before failing; the purge then drops
+            // the row, and with it any variants recorded if only the attach step failed
+            transactionTemplate.executeWithoutResult(status ->
+                    imageRepository.findById(imageId).ifPresent(imageCleanupService::scheduleDelete));
+            meterRegistry.counter("image.upload.jobs", "result", "failed").increment();
+            result = ProfileImageUploadDto.of(imageId, ProfileImageUploadDto.FAILED, null,
+                    "Your profile picture could not be processed");
+        } finally {
+            deleteQuietly(upload);
+        }
 
-            Image newImage = imageUploadService.uploadCompressedImage(file);
-            imageRepository.save(newImage);
+        // The principal name of a STOMP session is the user id
+        messagingTemplate.convertAndSendToUser(String.valueOf(userId),
+                NotificationOutboxServiceImpl.NOTIFICATION_QUEUE, result);
+    }
 
-            user.setProfileImage(newImage);
-            User updatedUser = userRepository.save(user);
-            UserDto userDto = userDtoMapper.toDto(updatedUser);
+    // Uploads can finish out of order; image ids are increasing, so the newest upload wins
+    private ProfileImageUploadDto attachProfileImage(Long userId, Image image) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
-            return userDto;
+        Image current = user.getProfileImage();
+        if (current != null && current.getId() > image.getId()) {
+            imageCleanupService.scheduleDelete(imageRepository.getReferenceById(image.getId()));
+            return ProfileImageUploadDto.of(image.getId(), ProfileImageUploadDto.SUPERSEDED, user.getProfileImageUrl(), null);
+        }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to upload image", e);
+        user.setProfileImage(imageRepository.getReferenceById(image.getId()));
+        user.setProfileImageUrl(image.getUrl());
+        userRepository.save(user);
+        if (current != null) {
+            imageCleanupService.scheduleDelete(current);
         }
+        return ProfileImageUploadDto.of(image.getId(), ProfileImageUploadDto.READY, image.getUrl(),
+                "Your profile picture has been updated");
     }
 
     @Transactional
@@ -74,9 +164,16 @@ public class CommonServiceImpl implements CommonService {
         }
 
         user.setProfileImage(null);
+        user.setProfileImageUrl(null);
         userRepository.save(user);
+        imageCleanupService.scheduleDelete(existingImage);
+    }
 
-        imageUploadService.deleteImage(existingImage.getPublicId());
-        imageRepository.deleteById(existingImage.getId());
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete temp file {}: {}", path, e.getMessage());
+        }
     }
 }
@@ -0,0 +1,128 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.model.Image;
+import com.biswas.project_management_backend.model.enm.ImageStatus;
+import com.biswas.project_management_backend.repository.ImageRepository;
+import com.biswas.project_management_backend.service.ImageCleanupService;
+import com.biswas.project_management_backend.service.ImageUploadService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Deferred removal of replaced and deleted images.
+ *
+ * Requests only flip the row to DELETING. {@link #purge} claims those rows in
+ * batches with {@code FOR UPDATE SKIP LOCKED}, removes their files with one
+ * {@link ImageUploadService#deleteImages} call per batch and then the rows.
+ * If the storage call fails the batch stays DELETING and is retried next run.
+ *
+ * Uploads still PENDING after image.upload.pending-timeout-minutes lost their
+ * worker, e.g. to a restart: they are marked DELETING first, and this node's
+ * spooled upload files of that age are removed.
+ */
+@Slf4j
+@Service
+public class ImageCleanupServiceImpl implements ImageCleanupService {
+
+    private final ImageRepository imageRepository;
+    private final ImageUploadService imageUploadService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${image.cleanup.batch-size:50}")
+    private int batchSize;
+
+    @Value("${image.upload.pending-timeout-minutes:30}")
+    private long pendingTimeoutMinutes;
+
+    public ImageCleanupServiceImpl(ImageRepository imageRepository,
+                                   ImageUploadService imageUploadService,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.imageRepository = imageRepository;
+        this.imageUploadService = imageUploadService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void scheduleDelete(Image image) {
+        image.setStatus(ImageStatus.DELETING);
+        imageRepository.save(image);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${image.cleanup.interval-ms:60000}")
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(pendingTimeoutMinutes);
+        expirePending(cutoff);
+        deleteSpooledUploads(cutoff);
+
+        int total = 0;
+        Integer purged;
+        do {
+            purged = transactionTemplate.execute(status -> purgeBatch());
+            total += purged != null ? purged : 0;
+        } while (purged != null && purged == batchSize);
+        return total;
+    }
+
+    private int purgeBatch() {
+        List<Image> batch = imageRepository.lockNextDeletionBatch(batchSize);
+        if (batch.isEmpty()) return 0;
+
+        try {
+            imageUploadService.deleteImages(batch);
+        } catch (RuntimeException e) {
+            meterRegistry.counter("image.cleanup.failures").increment();
+            log.warn("⚠️ Image purge of {} images failed, retrying next run: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+
+        imageRepository.deleteAll(batch);
+        meterRegistry.counter("image.cleanup.purged").increment(batch.size());
+        return batch.size();
+    }
+
+    private void expirePending(LocalDateTime cutoff) {
+        Integer expired = transactionTemplate.execute(status ->
+                imageRepository.updateStatusCreatedBefore(ImageStatus.PENDING, ImageStatus.DELETING, cutoff));
+        if (expired != null && expired > 0) {
+            meterRegistry.counter("image.cleanup.expired").increment(expired);
+            log.warn("⚠️ {} image uploads never finished, purging them", expired);
+        }
+    }
+
+    // A worker deletes its own file; one left this long belongs to a worker that died
+    private void deleteSpooledUploads(LocalDateTime cutoff) {
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"));
+        long cutoffMillis = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, CommonServiceImpl.UPLOAD_FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (NoSuchFileException e) {
+                    // Its worker finished and deleted it meanwhile
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not remove stale upload files from {}: {}", dir, e.getMessage());
+        }
+    }
+}
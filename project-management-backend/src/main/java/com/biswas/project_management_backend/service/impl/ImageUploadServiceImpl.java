@@ -1,61 +1,117 @@
 package com.biswas.project_management_backend.service.impl;
 
+import com.biswas.project_management_backend.image.ImageProcessor;
+import com.biswas.project_management_backend.image.ProcessedImage;
 import com.biswas.project_management_backend.model.Image;
+import com.biswas.project_management_backend.model.ImageVariant;
+import com.biswas.project_management_backend.model.enm.ImageStatus;
 import com.biswas.project_management_backend.repository.ImageRepository;
 import com.biswas.project_management_backend.service.ImageUploadService;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
-import net.coobird.thumbnailator.Thumbnails;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @Profile("local")
 public class ImageUploadServiceImpl implements ImageUploadService {
 
+    private static final int DELETE_BATCH_SIZE = 100;
+    private static final String FOLDER = "user_profiles";
+
     @Autowired
     private Cloudinary cloudinary;
 
     @Autowired
     private ImageRepository imageRepository;
 
+    @Autowired
+    private ImageProcessor imageProcessor;
+
     @Override
-    public Image uploadCompressedImage(MultipartFile file) throws IOException {
-        BufferedImage bufferedImage = ImageIO.read(file.getInputStream());
-        if (bufferedImage == null) throw new IOException("Invalid image file");
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        Thumbnails.of(bufferedImage).scale(1.0).outputQuality(0.6).outputFormat("jpg").toOutputStream(outputStream);
-
-        Map uploadResult = cloudinary.uploader().upload(
-                outputStream.toByteArray(),
-                ObjectUtils.asMap("folder", "user_profiles", "resource_type", "image")
-        );
-
-        Image image = Image.builder()
-                .url((String) uploadResult.get("secure_url"))
-                .publicId((String) uploadResult.get("public_id"))
-                .format((String) uploadResult.get("format"))
-                .size(file.getSize())
-                .build();
-
-        return imageRepository.save(image);
+    public Image uploadCompressedImage(InputStream source, Image image) throws IOException {
+        ProcessedImage processed = imageProcessor.process(source);
+
+        // Variants are uploaded from their temp files and deleted afterwards
+        List<ImageVariant> variants = new ArrayList<>();
+        try (processed) {
+            for (ProcessedImage.Variant variant : processed.variants()) {
+                Map uploadResult = cloudinary.uploader().upload(
+                        variant.file().toFile(),
+                        ObjectUtils.asMap(
+                                "folder", FOLDER,
+                                "public_id", baseIdOf(image) + variant.size(),
+                                "resource_type", "image")
+                );
+                variants.add(ImageVariant.builder()
+                        .size(variant.size())
+                        .width(variant.width())
+                        .height(variant.height())
+                        .bytes(variant.bytes())
+                        .url((String) uploadResult.get("secure_url"))
+                        .publicId((String) uploadResult.get("public_id"))
+                        .build());
+            }
+
+            ImageVariant largest = variants.get(0);
+            image.setUrl(largest.getUrl());
+            image.setPublicId(largest.getPublicId());
+            image.setFormat("jpg");
+            image.setSize(largest.getBytes());
+            image.setVariants(variants);
+            image.setStatus(ImageStatus.READY);
+
+            return imageRepository.save(image);
+        } catch (IOException | RuntimeException e) {
+            // Best effort; anything left is found by its prefix when the image row is purged
+            if (!variants.isEmpty()) {
+                try {
+                    deleteImages(List.of(Image.builder().variants(variants).build()));
+                } catch (RuntimeException cleanup) {
+                    log.warn("⚠️ Could not remove variants of failed image {}: {}", image.getId(), cleanup.getMessage());
+                }
+            }
+            throw e;
+        }
     }
 
+    // Admin API bulk delete: one call per 100 public ids instead of one destroy per image
     @Override
-    public void deleteImage(String publicId) {
+    public void deleteImages(List<Image> images) {
+        List<String> publicIds = images.stream()
+                .flatMap(image -> image.getVariants().isEmpty()
+                        ? Stream.ofNullable(image.getPublicId())
+                        : image.getVariants().stream().map(ImageVariant::getPublicId))
+                .collect(Collectors.toList());
         try {
-            cloudinary.uploader().destroy(publicId, ObjectUtils.asMap("invalidate", true));
+            for (int from = 0; from < publicIds.size(); from += DELETE_BATCH_SIZE) {
+                List<String> batch = publicIds.subList(from, Math.min(from + DELETE_BATCH_SIZE, publicIds.size()));
+                cloudinary.api().deleteResources(batch, ObjectUtils.asMap("invalidate", true));
+            }
+            // Never recorded its variants (failed or abandoned upload): whatever it stored shares its prefix
+            for (Image image : images) {
+                if (image.getId() != null && image.getPublicId() == null && image.getVariants().isEmpty()) {
+                    cloudinary.api().deleteResourcesByPrefix(FOLDER + "/" + baseIdOf(image), ObjectUtils.asMap("invalidate", true));
+                }
+            }
         } catch (Exception e) {
-            throw new RuntimeException("Failed to delete image from Cloudinary", e);
+            throw new RuntimeException("Failed to delete images from Cloudinary", e);
         }
     }
+
+    // Derived from the row id so the files of an upload that never completed can still be found
+    private static String baseIdOf(Image image) {
+        return "image_" + image.getId() + "_";
+    }
 }
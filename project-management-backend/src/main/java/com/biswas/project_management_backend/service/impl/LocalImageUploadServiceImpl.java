@@ -0,0 +1,141 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.image.ContentAddressedImageStore;
+import com.biswas.project_management_backend.image.ImageProcessor;
+import com.biswas.project_management_backend.image.ProcessedImage;
+import com.biswas.project_management_backend.model.Image;
+import com.biswas.project_management_backend.model.ImageVariant;
+import com.biswas.project_management_backend.model.enm.ImageStatus;
+import com.biswas.project_management_backend.repository.ImageRepository;
+import com.biswas.project_management_backend.service.ImageUploadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores avatar variants on local disk (see {@link ContentAddressedImageStore}); they
+ * are served by ImageController. The public id of a variant is its content hash.
+ */
+@Slf4j
+@Service
+@Profile({"prod", "docker"})
+public class LocalImageUploadServiceImpl implements ImageUploadService {
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ImageProcessor imageProcessor;
+
+    @Autowired
+    private ContentAddressedImageStore imageStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${image.store.base-url:}")
+    private String baseUrl;
+
+    @Override
+    public Image uploadCompressedImage(InputStream source, Image image) throws IOException {
+        ProcessedImage processed = imageProcessor.process(source);
+
+        // Files this upload added to the store; removed again if it does not get as far as the row
+        List<ImageVariant> added = new ArrayList<>();
+        try (processed) {
+            // Held until the READY row commits, so a purge cannot remove a file this upload
+            // found already stored before the row that now uses it is visible
+            return transactionTemplate.execute(status -> {
+                lockFiles(processed.variants().stream().map(ProcessedImage.Variant::sha256));
+
+                List<ImageVariant> variants = new ArrayList<>();
+                for (ProcessedImage.Variant variant : processed.variants()) {
+                    boolean isNew = put(variant);
+                    ImageVariant stored = ImageVariant.builder()
+                            .size(variant.size())
+                            .width(variant.width())
+                            .height(variant.height())
+                            .bytes(variant.bytes())
+                            .url(baseUrl + "/api/images/" + variant.sha256())
+                            .publicId(variant.sha256())
+                            .build();
+                    variants.add(stored);
+                    if (isNew) added.add(stored);
+                }
+
+                ImageVariant largest = variants.get(0);
+                image.setUrl(largest.getUrl());
+                image.setPublicId(largest.getPublicId());
+                image.setFormat("jpg");
+                image.setSize(largest.getBytes());
+                image.setVariants(variants);
+                image.setStatus(ImageStatus.READY);
+
+                return imageRepository.save(image);
+            });
+        } catch (RuntimeException e) {
+            if (!added.isEmpty()) {
+                try {
+                    deleteImages(List.of(Image.builder().variants(added).build()));
+                } catch (RuntimeException cleanup) {
+                    log.warn("⚠️ Could not remove variants of failed image {}: {}", image.getId(), cleanup.getMessage());
+                }
+            }
+            if (e instanceof UncheckedIOException io) throw io.getCause();
+            throw e;
+        }
+    }
+
+    // Files are shared by identical uploads, so one is only removed when no live image uses it
+    @Override
+    public void deleteImages(List<Image> images) {
+        Set<String> hashes = images.stream()
+                .flatMap(image -> image.getVariants().stream())
+                .map(ImageVariant::getPublicId)
+                .collect(Collectors.toSet());
+        if (hashes.isEmpty()) return;
+
+        // Joins the purge's transaction; the count then sees every upload that committed while we waited
+        transactionTemplate.executeWithoutResult(status -> {
+            lockFiles(hashes.stream());
+            for (String hash : hashes) {
+                if (imageRepository.countByVariantPublicIdAndStatusNot(hash, ImageStatus.DELETING) > 0) continue;
+                try {
+                    imageStore.delete(hash);
+                } catch (IOException e) {
+                    log.warn("⚠️ Could not delete stored image {}: {}", hash, e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Per-hash transaction locks, taken in hash order so an upload and a purge never deadlock
+    private void lockFiles(Stream<String> hashes) {
+        hashes.distinct().sorted().forEach(hash ->
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> null, hash));
+    }
+
+    private boolean put(ProcessedImage.Variant variant) {
+        try {
+            return imageStore.put(variant.sha256(), variant.file());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
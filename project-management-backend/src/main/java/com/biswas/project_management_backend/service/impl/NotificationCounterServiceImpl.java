@@ -0,0 +1,65 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.service.NotificationCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code notification_counters} in step with the unread rows.
+ *
+ * Callers update the counter in the same transaction as the rows they insert
+ * or delete, so the badge reads a single primary-key row instead of counting.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationCounterServiceImpl implements NotificationCounterService {
+
+    private static final String INCREMENT_SQL = """
+            INSERT INTO notification_counters (user_id, unread_count)
+            VALUES (?, ?)
+            ON CONFLICT (user_id) DO UPDATE
+            SET unread_count = notification_counters.unread_count + EXCLUDED.unread_count
+            """;
+
+    private static final String DECREMENT_SQL =
+            "UPDATE notification_counters SET unread_count = GREATEST(unread_count - ?, 0) WHERE user_id = ?";
+
+    private static final String SELECT_SQL =
+            "SELECT unread_count FROM notification_counters WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void increment(Collection<Long> recipientIds) {
+        if (recipientIds.isEmpty()) return;
+
+        // Sorted so concurrent fan-outs lock counter rows in the same order
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (Long recipientId : recipientIds) {
+            deltas.merge(recipientId, 1, Integer::sum);
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((userId, delta) -> args.add(new Object[]{userId, delta}));
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, args);
+    }
+
+    @Override
+    public void decrement(Long userId, int count) {
+        if (count <= 0) return;
+        jdbcTemplate.update(DECREMENT_SQL, count, userId);
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        List<Integer> counts = jdbcTemplate.queryForList(SELECT_SQL, Integer.class, userId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+}
@@ -0,0 +1,253 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.config.AsyncConfig;
+import com.biswas.project_management_backend.dto.mapper.NotificationMessageMapper;
+import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.model.NotificationOutbox;
+import com.biswas.project_management_backend.model.TeamNotification;
+import com.biswas.project_management_backend.repository.NotificationOutboxRepository;
+import com.biswas.project_management_backend.service.NotificationOutboxService;
+import com.biswas.project_management_backend.service.NotificationStreamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional outbox for notification pushes.
+ *
+ * {@link #enqueue} writes outbox rows in the caller's transaction, so a rollback
+ * also discards the push. Rows are delivered by {@link #dispatch}, which claims
+ * batches with {@code FOR UPDATE SKIP LOCKED}. Dispatch runs on a fixed poll and
+ * is additionally kicked on the push executor right after an enqueuing commit.
+ *
+ * Payloads are encoded at enqueue time, and dispatch hands the stored bytes to the
+ * broker without another conversion. Within one {@link #enqueue(List)} call,
+ * consecutive notifications with the same body share one encoded body and only
+ * differ in the spliced id. The overdue sweep is the only multi-recipient caller,
+ * and its digests differ per assignee, so that sharing is occasional. The real
+ * broadcast is a team notification: one payload per event, which the broker
+ * copies to every subscriber of the team topic.
+ *
+ * Only the STOMP send decides whether an entry is retried; the SSE publish that
+ * follows it is best effort and is counted rather than retried.
+ */
+@Slf4j
+@Service
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+
+    // Resolved per session to /user/queue/notifications; the principal name is the user id
+    public static final String NOTIFICATION_QUEUE = "/queue/notifications";
+    private static final String USER_DESTINATION_PREFIX = "/user/";
+
+    // One publish per team event; StompAuthChannelInterceptor only lets members subscribe
+    public static final String TEAM_TOPIC_PREFIX = "/topic/teams/";
+    public static final String TEAM_TOPIC_SUFFIX = "/notifications";
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor pushExecutor;
+    private final NotificationMessageMapper messageMapper;
+    private final NotificationStreamService notificationStreamService;
+    private final Timer teamFanoutTimer;
+    private final Timer userFanoutTimer;
+    private final Counter streamPublishFailures;
+
+    // Coalesces after-commit wake-ups into at most one queued dispatch
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    @Value("${notifications.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notifications.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    public NotificationOutboxServiceImpl(NotificationOutboxRepository outboxRepository,
+                                         SimpMessagingTemplate messagingTemplate,
+                                         TransactionTemplate transactionTemplate,
+                                         @Qualifier(AsyncConfig.NOTIFICATION_PUSH_EXECUTOR) ThreadPoolTaskExecutor pushExecutor,
+                                         NotificationMessageMapper messageMapper,
+                                         NotificationStreamService notificationStreamService,
+                                         MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.pushExecutor = pushExecutor;
+        this.messageMapper = messageMapper;
+        this.notificationStreamService = notificationStreamService;
+        this.teamFanoutTimer = fanoutTimer(meterRegistry, "team");
+        this.userFanoutTimer = fanoutTimer(meterRegistry, "user");
+        this.streamPublishFailures = Counter.builder("notifications.stream.publish.failures")
+                .description("Notifications pushed over STOMP whose SSE publish failed")
+                .register(meterRegistry);
+    }
+
+    // From the notification's creation to its hand-off to the broker, retries included
+    private static Timer fanoutTimer(MeterRegistry meterRegistry, String target) {
+        return Timer.builder("notifications.fanout.latency")
+                .tag("target", target)
+                .description("Time from creating a notification to publishing it")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void enqueue(List<Notification> notifications) {
+        if (notifications.isEmpty()) return;
+
+        // Not yet flushed notifications have no createdAt; stamp the whole batch alike
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> entries = new ArrayList<>(notifications.size());
+        Notification previous = null;
+        byte[] body = null;
+        for (Notification notification : notifications) {
+            if (previous == null || !sameBody(previous, notification)) {
+                body = messageMapper.encodeBody(notification, now);
+                previous = notification;
+            }
+            entries.add(NotificationOutbox.builder()
+                    .notificationId(notification.getId())
+                    .recipientId(notification.getRecipient().getId())
+                    .payload(messageMapper.encode(notification.getId(), body))
+                    .createdAt(notification.getCreatedAt() != null ? notification.getCreatedAt() : now)
+                    .build());
+        }
+        outboxRepository.saveAll(entries);
+        wakeUpAfterCommit();
+    }
+
+    @Override
+    public void enqueue(TeamNotification notification) {
+        LocalDateTime now = LocalDateTime.now();
+        byte[] body = messageMapper.encodeBody(notification, now);
+        outboxRepository.save(NotificationOutbox.builder()
+                .notificationId(notification.getId())
+                .teamId(notification.getTeamId())
+                .payload(messageMapper.encode(notification.getId(), body))
+                .createdAt(notification.getCreatedAt() != null ? notification.getCreatedAt() : now)
+                .build());
+        wakeUpAfterCommit();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:2000}")
+    public int dispatch() {
+        int total = 0;
+        Integer claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> dispatchBatch());
+            total += claimed != null ? claimed : 0;
+        } while (claimed != null && claimed == batchSize);
+        return total;
+    }
+
+    private int dispatchBatch() {
+        List<NotificationOutbox> batch = outboxRepository.lockNextBatch(batchSize);
+        List<NotificationOutbox> done = new ArrayList<>(batch.size());
+
+        for (NotificationOutbox entry : batch) {
+            try {
+                messagingTemplate.send(destinationOf(entry), toMessage(entry.getPayload()));
+                publishToStreams(entry);
+                (entry.getTeamId() != null ? teamFanoutTimer : userFanoutTimer)
+                        .record(Duration.between(entry.getCreatedAt(), LocalDateTime.now()));
+                done.add(entry);
+            } catch (Exception e) {
+                entry.setAttempts(entry.getAttempts() + 1);
+                if (entry.getAttempts() >= maxAttempts) {
+                    log.error("❌ Dropping notification {} for {} after {} attempts: {}",
+                            entry.getNotificationId(), destinationOf(entry), entry.getAttempts(), e.getMessage());
+                    done.add(entry);
+                } else {
+                    // Exponential backoff: 2s, 4s, 8s, ...
+                    entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(1L << entry.getAttempts()));
+                }
+            }
+        }
+
+        outboxRepository.deleteAllInBatch(done);
+        return batch.size();
+    }
+
+    // Same event, same bytes for SSE clients on every node. Best effort: the STOMP push above
+    // already went out, so retrying the entry would deliver it twice. An SSE client that misses
+    // it gets it from the unread replay the next time it reconnects with Last-Event-ID
+    private void publishToStreams(NotificationOutbox entry) {
+        try {
+            notificationStreamService.publish(entry);
+        } catch (Exception e) {
+            streamPublishFailures.increment();
+            log.warn("⚠️ SSE publish of notification {} for {} failed: {}",
+                    entry.getNotificationId(), destinationOf(entry), e.getMessage());
+        }
+    }
+
+    private void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    private void wakeUp() {
+        if (!wakeUpPending.compareAndSet(false, true)) return;
+
+        pushExecutor.execute(() -> {
+            wakeUpPending.set(false);
+            try {
+                dispatch();
+            } catch (Exception e) {
+                log.error("❌ Outbox dispatch failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private static String destinationOf(NotificationOutbox entry) {
+        return entry.getTeamId() != null
+                ? TEAM_TOPIC_PREFIX + entry.getTeamId() + TEAM_TOPIC_SUFFIX
+                : USER_DESTINATION_PREFIX + entry.getRecipientId() + NOTIFICATION_QUEUE;
+    }
+
+    private static boolean sameBody(Notification a, Notification b) {
+        return a.getType() == b.getType()
+                && a.isRead() == b.isRead()
+                && Objects.equals(a.getMessage(), b.getMessage())
+                && Objects.equals(a.getRelatedEntityId(), b.getRelatedEntityId())
+                && Objects.equals(a.getCreatedAt(), b.getCreatedAt());
+    }
+
+    // Pre-built message: bypasses the converter chain, which would re-encode a byte[] as base64 JSON
+    private static Message<byte[]> toMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
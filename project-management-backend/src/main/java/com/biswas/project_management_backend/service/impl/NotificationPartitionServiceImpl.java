@@ -0,0 +1,161 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.model.JobWatermark;
+import com.biswas.project_management_backend.repository.JobWatermarkRepository;
+import com.biswas.project_management_backend.repository.TeamNotificationRepository;
+import com.biswas.project_management_backend.service.NotificationPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of {@code notifications}.
+ *
+ * Each run makes sure the current month and the next {@code months-ahead} months
+ * have a partition, moving any rows that landed in the default partition into it.
+ * Months older than the retention are detached, then dropped or kept as archive
+ * tables, so expiry never runs a mass DELETE. Unread counters are reduced by the
+ * unread rows of every expired month first. Team notifications past the retention
+ * are deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationPartitionServiceImpl implements NotificationPartitionService {
+
+    static final String JOB_NAME = "notification-partition-maintenance";
+
+    private static final String PARENT_TABLE = "notifications";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final String PARTITION_PREFIX = "notifications_p";
+    private static final String ARCHIVE_PREFIX = "notifications_archive_";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private final JobWatermarkRepository watermarkRepository;
+    private final TeamNotificationRepository teamNotificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // Months kept besides the current one; 0 or less disables expiry
+    @Value("${notifications.retention.months:6}")
+    private int retentionMonths;
+
+    // Keep expired months as standalone tables instead of dropping them
+    @Value("${notifications.retention.archive:false}")
+    private boolean archive;
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${notifications.partitions.cron:0 15 1 * * *}")
+    public void maintain() {
+        // Row lock keeps concurrent nodes from issuing the same DDL
+        JobWatermark watermark = watermarkRepository.lockByJobName(JOB_NAME)
+                .orElseGet(() -> JobWatermark.builder().jobName(JOB_NAME).build());
+
+        YearMonth current = YearMonth.now();
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            if (ensurePartition(current.plusMonths(i))) created++;
+        }
+
+        int expired = 0;
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String partition : listPartitions()) {
+                YearMonth month = parseMonth(partition);
+                if (month != null && month.isBefore(oldestKept)) {
+                    expire(partition, month);
+                    expired++;
+                }
+            }
+            // Team notifications are one row per event and small enough to delete directly
+            teamNotificationRepository.deleteCreatedBefore(oldestKept.atDay(1).atStartOfDay());
+        }
+
+        watermark.setWatermarkDate(LocalDate.now());
+        watermarkRepository.save(watermark);
+
+        log.info("🗂️ Notification partitions: created={} expired={} ({})",
+                created, expired, archive ? "archived" : "dropped");
+    }
+
+    private boolean ensurePartition(YearMonth month) {
+        String name = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+        if (Boolean.TRUE.equals(exists)) return false;
+
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+
+        // Build the table standalone, pull its rows out of the default partition, then attach
+        jdbcTemplate.execute("CREATE TABLE " + name
+                + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE created_at >= ?::timestamp AND created_at < ?::timestamp RETURNING *)"
+                + " INSERT INTO " + name + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + name
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+
+        if (moved > 0) {
+            log.warn("⚠️ Moved {} notifications from {} into {}", moved, DEFAULT_PARTITION, name);
+        }
+        return true;
+    }
+
+    private void expire(String partition, YearMonth month) {
+        jdbcTemplate.update("""
+                UPDATE notification_counters c
+                SET unread_count = GREATEST(c.unread_count - expired.cnt, 0)
+                FROM (SELECT recipient_id, COUNT(*) AS cnt
+                      FROM %s
+                      WHERE is_read = FALSE
+                      GROUP BY recipient_id) expired
+                WHERE c.user_id = expired.recipient_id
+                """.formatted(partition));
+
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+        if (archive) {
+            jdbcTemplate.execute("ALTER TABLE " + partition
+                    + " RENAME TO " + ARCHIVE_PREFIX + month.format(SUFFIX_FORMAT));
+        } else {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ?::regclass
+                ORDER BY c.relname
+                """, String.class, PARENT_TABLE);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX_FORMAT);
+    }
+
+    // Null for partitions not created by this job, such as the default one
+    private static YearMonth parseMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) return null;
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -1,73 +1,379 @@
 package com.biswas.project_management_backend.service.impl;
 
+import com.biswas.project_management_backend.config.AsyncConfig;
+import com.biswas.project_management_backend.dto.NotificationMessageDto;
+import com.biswas.project_management_backend.dto.NotificationPageDto;
+import com.biswas.project_management_backend.dto.WebSocketSessionStatsDto;
+import com.biswas.project_management_backend.dto.mapper.NotificationMessageMapper;
 import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.model.TeamNotification;
 import com.biswas.project_management_backend.model.User;
 import com.biswas.project_management_backend.model.enm.NotificationType;
+import com.biswas.project_management_backend.notification.TimingWheel;
 import com.biswas.project_management_backend.repository.NotificationRepository;
+import com.biswas.project_management_backend.repository.TeamNotificationRepository;
+import com.biswas.project_management_backend.repository.TeamRepository;
 import com.biswas.project_management_backend.repository.UserRepository;
+import com.biswas.project_management_backend.service.NotificationCounterService;
+import com.biswas.project_management_backend.service.NotificationOutboxService;
 import com.biswas.project_management_backend.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * Notifications for single recipients.
+ *
+ * With a coalescing window configured, notifications of the same type for the
+ * same recipient are buffered after the caller commits. The first one opens a
+ * window on a timing wheel; everything arriving before it closes is persisted
+ * as one row and pushed as one frame, a digest when more than one arrived.
+ * Buffered notifications are lost on a crash within the window, but are
+ * flushed on a regular shutdown.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final TeamNotificationRepository teamNotificationRepository;
+    private final TeamRepository teamRepository;
     private final UserRepository userRepository;
+    private final NotificationOutboxService notificationOutboxService;
+    private final SimpUserRegistry simpUserRegistry;
+    private final NotificationMessageMapper notificationMessageMapper;
+    private final NotificationCounterService notificationCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor flushExecutor;
+
+    private final Map<CoalescingKey, Burst> pendingBursts = new ConcurrentHashMap<>();
+    private final Counter coalescedEvents;
+    private final Counter persistedRows;
+    private TimingWheel<CoalescingKey> timingWheel;
+    private ScheduledExecutorService ticker;
+
+    @Value("${notifications.page.max-size:50}")
+    private int maxPageSize;
+
+    // 0 disables coalescing: every notification is written in the caller's transaction
+    @Value("${notifications.coalescing.window-ms:0}")
+    private long coalescingWindowMs;
+
+    @Value("${notifications.coalescing.tick-ms:100}")
+    private long tickMs;
+
+    // Messages quoted in a digest before it switches to "+N more"
+    @Value("${notifications.coalescing.max-listed:3}")
+    private int maxListed;
+
+    public NotificationServiceImpl(NotificationRepository notificationRepository,
+                                   TeamNotificationRepository teamNotificationRepository,
+                                   TeamRepository teamRepository,
+                                   UserRepository userRepository,
+                                   NotificationOutboxService notificationOutboxService,
+                                   SimpUserRegistry simpUserRegistry,
+                                   NotificationMessageMapper notificationMessageMapper,
+                                   NotificationCounterService notificationCounterService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Qualifier(AsyncConfig.NOTIFICATION_FLUSH_EXECUTOR) ThreadPoolTaskExecutor flushExecutor,
+                                   MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.teamNotificationRepository = teamNotificationRepository;
+        this.teamRepository = teamRepository;
+        this.userRepository = userRepository;
+        this.notificationOutboxService = notificationOutboxService;
+        this.simpUserRegistry = simpUserRegistry;
+        this.notificationMessageMapper = notificationMessageMapper;
+        this.notificationCounterService = notificationCounterService;
+        this.transactionTemplate = transactionTemplate;
+        this.flushExecutor = flushExecutor;
+
+        this.coalescedEvents = Counter.builder("notifications.coalescing.events")
+                .description("Notifications offered to the coalescing window")
+                .register(meterRegistry);
+        this.persistedRows = Counter.builder("notifications.coalescing.rows")
+                .description("Rows written for coalesced notifications")
+                .register(meterRegistry);
+        Gauge.builder("notifications.coalescing.ratio", this,
+                        s -> s.persistedRows.count() == 0 ? 1.0 : s.coalescedEvents.count() / s.persistedRows.count())
+                .description("Notifications per written row; above 1 means bursts were merged")
+                .register(meterRegistry);
+        Gauge.builder("notifications.coalescing.pending", pendingBursts, Map::size)
+                .description("Recipient/type windows currently open")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startTicker() {
+        if (coalescingWindowMs <= 0) return;
+
+        // Two rounds of slots cover the window; longer windows just take extra rounds
+        timingWheel = new TimingWheel<>(tickMs, (int) Math.max(2, 2 * coalescingWindowMs / tickMs));
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notif-coalesce-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(() -> {
+            try {
+                timingWheel.advance(this::closeWindow);
+            } catch (Exception e) {
+                log.error("❌ Coalescing tick failed: {}", e.getMessage());
+            }
+        }, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void flushPending() {
+        if (ticker == null) return;
+
+        ticker.shutdown();
+        try {
+            ticker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The ticker is stopped, so the wheel can be drained from here
+        for (CoalescingKey key : timingWheel.drainAll()) {
+            Burst burst = pendingBursts.remove(key);
+            if (burst != null) {
+                transactionTemplate.executeWithoutResult(status -> persistBurst(key, burst));
+            }
+        }
+    }
 
+    @Transactional
     @Override
-    public Notification createNotification(User recipient, String message, NotificationType type, Long relatedEntityId) {
+    public void createNotification(User recipient, String message, NotificationType type, Long relatedEntityId) {
+        if (coalescingWindowMs <= 0) {
+            // The push is written to the outbox in the caller's transaction and only delivered after commit
+            persist(recipient.getId(), message, type, relatedEntityId);
+            return;
+        }
+
+        CoalescingKey key = new CoalescingKey(recipient.getId(), type);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(key, message, relatedEntityId);
+                }
+            });
+        } else {
+            offer(key, message, relatedEntityId);
+        }
+    }
+
+    private void offer(CoalescingKey key, String message, Long relatedEntityId) {
+        coalescedEvents.increment();
+        // compute() runs atomically per key, so a burst is never extended after its window was closed
+        pendingBursts.compute(key, (k, burst) -> {
+            if (burst == null) {
+                burst = new Burst();
+                timingWheel.schedule(k, coalescingWindowMs);
+            }
+            burst.add(message, relatedEntityId, maxListed);
+            return burst;
+        });
+    }
+
+    // Ticker thread: hand the closed window to the executor so DB writes never delay ticks
+    private void closeWindow(CoalescingKey key) {
+        Burst burst = pendingBursts.remove(key);
+        if (burst == null) return;
+
+        flushExecutor.execute(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persistBurst(key, burst));
+            } catch (Exception e) {
+                log.error("❌ Failed to persist {} {} notification(s) for user {}: {}",
+                        burst.count, key.type(), key.recipientId(), e.getMessage());
+            }
+        });
+    }
+
+    private void persistBurst(CoalescingKey key, Burst burst) {
+        if (burst.count == 1) {
+            persist(key.recipientId(), burst.messages.get(0), key.type(), burst.lastRelatedEntityId);
+        } else {
+            persist(key.recipientId(), burst.digestMessage(), key.type(), null);
+        }
+        persistedRows.increment();
+    }
+
+    private void persist(Long recipientId, String message, NotificationType type, Long relatedEntityId) {
         Notification notification = Notification.builder()
-                .recipient(recipient)
+                .recipient(userRepository.getReferenceById(recipientId))
                 .message(message)
                 .type(type)
                 .relatedEntityId(relatedEntityId)
                 .build();
 
         notificationRepository.save(notification);
+        notificationCounterService.increment(List.of(recipientId));
+        notificationOutboxService.enqueue(List.of(notification));
+    }
 
-        try {
-            messagingTemplate.convertAndSend("/topic/notifications/" + recipient.getId(), notification);
-        } catch (Exception e) {
-            log.error("❌ Failed to send notification to user {}: {}", recipient.getId(), e.getMessage());
+    @Override
+    public NotificationPageDto getNotificationPage(String email, LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        // One extra row tells whether another page exists without a count query
+        PageRequest page = PageRequest.of(0, size + 1);
+        boolean firstPage = beforeCreatedAt == null || beforeId == null;
+        List<Notification> personal = firstPage
+                ? notificationRepository.findByRecipientIdAndIsReadFalseOrderByCreatedAtDescIdDesc(user.getId(), page)
+                : notificationRepository.findUnreadPageBefore(user.getId(), beforeCreatedAt, beforeId, page);
+        List<TeamNotification> team = firstPage
+                ? teamNotificationRepository.findUnreadForUser(user.getId(), size + 1)
+                : teamNotificationRepository.findUnreadForUserBefore(user.getId(), beforeCreatedAt, beforeId, size + 1);
+
+        // Both sources are ordered by (createdAt, id) desc and share one id sequence, so one cursor serves both
+        List<NotificationMessageDto> rows = new ArrayList<>(personal.size() + team.size());
+        personal.forEach(n -> rows.add(notificationMessageMapper.toDto(n)));
+        team.forEach(n -> rows.add(notificationMessageMapper.toDto(n)));
+        rows.sort(Comparator.comparing(NotificationMessageDto::getCreatedAt)
+                .thenComparing(NotificationMessageDto::getId)
+                .reversed());
+
+        boolean hasMore = rows.size() > size;
+        List<NotificationMessageDto> items = rows.stream()
+                .limit(size)
+                .collect(Collectors.toList());
+
+        if (!hasMore) {
+            return new NotificationPageDto(items, null, null);
         }
+        NotificationMessageDto last = items.get(items.size() - 1);
+        return new NotificationPageDto(items, last.getCreatedAt(), last.getId());
+    }
 
-        return notification;
+    // Team notifications are counted through the membership join; there is one row per team event
+    @Override
+    public long getUnreadCount(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return notificationCounterService.getUnreadCount(user.getId())
+                + teamNotificationRepository.countUnreadForUser(user.getId());
     }
 
+    // Reading a personal notification removes it; a team notification gets a read mark for this user
+    @Transactional
     @Override
-    public List<Notification> getNotificationsByEmail(String email) {
+    public void markAsRead(Long notificationId, String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return notificationRepository.findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(user.getId());
+
+        Long recipientId = notificationRepository.findRecipientIdById(notificationId).orElse(null);
+        if (recipientId == null) {
+            teamNotificationRepository.markRead(notificationId, user.getId());
+        } else if (recipientId.equals(user.getId())) {
+            notificationCounterService.decrement(recipientId, notificationRepository.deleteInBulkById(notificationId));
+        }
     }
 
+    @Transactional
     @Override
-    public void markAsRead(Long notificationId) {
-//        Notification n = notificationRepository.findById(notificationId).orElseThrow();
-//        n.setRead(true);
-//        notificationRepository.save(n);
+    public void markAllAsRead(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
-        notificationRepository.deleteById(notificationId);
+        // Decrement by what this transaction deleted: a reset would also wipe the increment
+        // of a notification that commits concurrently and is still unread
+        int deleted = notificationRepository.deleteInBulkByRecipientId(user.getId());
+        notificationCounterService.decrement(user.getId(), deleted);
+        teamNotificationRepository.markAllRead(user.getId());
     }
 
     @Transactional
     @Override
-    public void markAllAsRead(Long userId) {
-//        List<Notification> unread = notificationRepository.findByRecipientIdAndIsReadFalse(userId);
-//        if (!unread.isEmpty()) {
-//            unread.forEach(n -> n.setRead(true));
-//            notificationRepository.saveAll(unread);
-//        }
-
-        notificationRepository.deleteAllByRecipientId(userId);
+    public void createTeamNotification(Long teamId, String message, NotificationType type, Long relatedEntityId) {
+        TeamNotification notification = teamNotificationRepository.save(TeamNotification.builder()
+                .teamId(teamId)
+                .message(message)
+                .type(type)
+                .relatedEntityId(relatedEntityId)
+                .build());
+        notificationOutboxService.enqueue(notification);
+    }
+
+    @Override
+    public List<String> getSubscriptionDestinations(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        List<String> destinations = new ArrayList<>();
+        destinations.add("/user" + NotificationOutboxServiceImpl.NOTIFICATION_QUEUE);
+        for (Long teamId : teamRepository.findIdsByMemberId(user.getId())) {
+            destinations.add(NotificationOutboxServiceImpl.TEAM_TOPIC_PREFIX + teamId
+                    + NotificationOutboxServiceImpl.TEAM_TOPIC_SUFFIX);
+        }
+        return destinations;
+    }
+
+    @Override
+    public WebSocketSessionStatsDto getSessionStats() {
+        long sessions = simpUserRegistry.getUsers().stream()
+                .mapToLong(user -> user.getSessions().size())
+                .sum();
+        return new WebSocketSessionStatsDto(simpUserRegistry.getUserCount(), sessions);
+    }
+
+    private record CoalescingKey(Long recipientId, NotificationType type) {
+    }
+
+    // Mutated only inside ConcurrentHashMap.compute(), read after remove()
+    private static final class Burst {
+        private final List<String> messages = new ArrayList<>();
+        private int count;
+        private Long lastRelatedEntityId;
+
+        private void add(String message, Long relatedEntityId, int maxListed) {
+            if (messages.size() < Math.max(1, maxListed)) {
+                messages.add(message);
+            }
+            count++;
+            lastRelatedEntityId = relatedEntityId;
+        }
+
+        private String digestMessage() {
+            StringBuilder digest = new StringBuilder()
+                    .append("You have ").append(count).append(" new notifications: ")
+                    .append(String.join("; ", messages));
+            if (count > messages.size()) {
+                digest.append(" (+").append(count - messages.size()).append(" more)");
+            }
+            return digest.length() <= MAX_MESSAGE_LENGTH
+                    ? digest.toString()
+                    : digest.substring(0, MAX_MESSAGE_LENGTH - 1) + "…";
+        }
     }
 }
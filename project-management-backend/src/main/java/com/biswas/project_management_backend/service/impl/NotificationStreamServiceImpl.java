@@ -0,0 +1,486 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.config.AsyncConfig;
+import com.biswas.project_management_backend.dto.mapper.NotificationMessageMapper;
+import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.model.NotificationOutbox;
+import com.biswas.project_management_backend.model.TeamNotification;
+import com.biswas.project_management_backend.model.User;
+import com.biswas.project_management_backend.repository.NotificationRepository;
+import com.biswas.project_management_backend.repository.TeamNotificationRepository;
+import com.biswas.project_management_backend.repository.TeamRepository;
+import com.biswas.project_management_backend.repository.UserRepository;
+import com.biswas.project_management_backend.service.NotificationStreamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events transport for notifications.
+ *
+ * The outbox dispatcher publishes every delivered row here as well as to the
+ * STOMP broker, so both transports see the same events with the same ids.
+ * Publishing never blocks: each connection has a bounded send queue drained by
+ * one task at a time on the SSE executor. A client whose queue overflows
+ * (including heartbeats) is too slow and gets disconnected; it can reconnect
+ * with {@code Last-Event-ID} and have the unread notifications since then replayed.
+ *
+ * Event ids are {@code <createdAt epoch millis>-<notification id>}. Replay anchors
+ * on that pair rather than looking the id up, because reading a notification
+ * deletes it. The timestamp may round down, so a replay can repeat an event the
+ * client already has; clients drop duplicates by notification id.
+ *
+ * In relay mode the dispatching node publishes each event to {@link #FEED_TOPIC}
+ * on the broker, and every node delivers to its own streams from one subscription
+ * to that topic, so a stream receives events no matter which node dispatched them.
+ * The simple broker runs on a single node, which delivers directly.
+ */
+@Slf4j
+@Service
+public class NotificationStreamServiceImpl implements NotificationStreamService {
+
+    private static final String EVENT_NAME = "notification";
+
+    // Internal broadcast of SSE events between nodes; StompAuthChannelInterceptor keeps clients off it
+    public static final String FEED_TOPIC = "/topic/notification-stream";
+    private static final String RECIPIENT_HEADER = "recipientId";
+    private static final String TEAM_HEADER = "teamId";
+    private static final String EVENT_ID_HEADER = "eventId";
+    private static final long FEED_RECONNECT_DELAY_MS = 5000;
+
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final NotificationRepository notificationRepository;
+    private final TeamNotificationRepository teamNotificationRepository;
+    private final NotificationMessageMapper messageMapper;
+    private final ThreadPoolTaskExecutor sseExecutor;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadPoolTaskScheduler scheduler;
+
+    private final Map<Long, Set<SseConnection>> byUser = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SseConnection>> byTeam = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter slowClientEvictions;
+
+    @Value("${notifications.sse.max-connections:1000}")
+    private int maxConnections;
+
+    @Value("${notifications.sse.max-connections-per-user:3}")
+    private int maxConnectionsPerUser;
+
+    @Value("${notifications.sse.send-queue-capacity:64}")
+    private int sendQueueCapacity;
+
+    // Clients reconnect with Last-Event-ID when the stream times out
+    @Value("${notifications.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.sse.replay-limit:100}")
+    private int replayLimit;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${websocket.relay.system-login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.relay.system-passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${websocket.relay.heartbeat-send-ms:10000}")
+    private long relayHeartbeatSendMs;
+
+    @Value("${websocket.relay.heartbeat-receive-ms:10000}")
+    private long relayHeartbeatReceiveMs;
+
+    private ReactorNettyTcpStompClient feedClient;
+    private volatile StompSession feedSession;
+    private volatile boolean shuttingDown;
+
+    public NotificationStreamServiceImpl(UserRepository userRepository,
+                                         TeamRepository teamRepository,
+                                         NotificationRepository notificationRepository,
+                                         TeamNotificationRepository teamNotificationRepository,
+                                         NotificationMessageMapper messageMapper,
+                                         @Qualifier(AsyncConfig.NOTIFICATION_SSE_EXECUTOR) ThreadPoolTaskExecutor sseExecutor,
+                                         SimpMessagingTemplate messagingTemplate,
+                                         @Qualifier("webSocketHeartbeatScheduler") ThreadPoolTaskScheduler scheduler,
+                                         MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.teamRepository = teamRepository;
+        this.notificationRepository = notificationRepository;
+        this.teamNotificationRepository = teamNotificationRepository;
+        this.messageMapper = messageMapper;
+        this.sseExecutor = sseExecutor;
+        this.messagingTemplate = messagingTemplate;
+        this.scheduler = scheduler;
+
+        this.slowClientEvictions = Counter.builder("notifications.sse.evictions")
+                .description("SSE clients disconnected because their send queue overflowed")
+                .register(meterRegistry);
+        Gauge.builder("notifications.sse.connections", connectionCount, AtomicInteger::get)
+                .description("Open SSE notification streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<SseEmitter> subscribe(String email, String lastEventId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        User user;
+        List<Long> teamIds;
+        try {
+            user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            teamIds = teamRepository.findIdsByMemberId(user.getId());
+        } catch (RuntimeException e) {
+            connectionCount.decrementAndGet();
+            throw e;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SseConnection connection = new SseConnection(user.getId(), teamIds, emitter, sendQueueCapacity);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(e -> close(connection));
+
+        register(connection);
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            replay(connection, lastEventId.trim());
+        }
+        return Optional.of(emitter);
+    }
+
+    @Override
+    public void publish(NotificationOutbox entry) {
+        String eventId = eventId(entry.getCreatedAt(), entry.getNotificationId());
+        if (!isRelayMode()) {
+            deliver(entry.getRecipientId(), entry.getTeamId(), new StreamEvent(eventId, entry.getPayload()));
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setNativeHeader(EVENT_ID_HEADER, eventId);
+        if (entry.getTeamId() != null) {
+            accessor.setNativeHeader(TEAM_HEADER, String.valueOf(entry.getTeamId()));
+        } else {
+            accessor.setNativeHeader(RECIPIENT_HEADER, String.valueOf(entry.getRecipientId()));
+        }
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(FEED_TOPIC, MessageBuilder.createMessage(entry.getPayload(), accessor.getMessageHeaders()));
+    }
+
+    private void deliver(Long recipientId, Long teamId, StreamEvent event) {
+        Set<SseConnection> targets = teamId != null ? byTeam.get(teamId) : byUser.get(recipientId);
+        if (targets == null) return;
+
+        for (SseConnection connection : targets) {
+            offer(connection, event);
+        }
+    }
+
+    // One subscription per node to the events every node publishes
+    @EventListener(ApplicationReadyEvent.class)
+    public void connectFeed() {
+        if (!isRelayMode()) return;
+
+        feedClient = new ReactorNettyTcpStompClient(relayHost, relayPort);
+        feedClient.setTaskScheduler(scheduler);
+        feedClient.setDefaultHeartbeat(new long[]{relayHeartbeatSendMs, relayHeartbeatReceiveMs});
+        connectFeedSession();
+    }
+
+    @PreDestroy
+    public void disconnectFeed() {
+        shuttingDown = true;
+        StompSession session = feedSession;
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+        if (feedClient != null) {
+            feedClient.shutdown();
+        }
+    }
+
+    private void connectFeedSession() {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin(relayLogin);
+        connectHeaders.setPasscode(relayPasscode);
+        if (!relayVirtualHost.isBlank()) {
+            connectHeaders.setHost(relayVirtualHost);
+        }
+
+        // A failed connect is reported to FeedHandler.handleTransportError, which retries
+        feedClient.connectAsync(connectHeaders, new FeedHandler());
+    }
+
+    private void reconnectFeed() {
+        feedSession = null;
+        if (shuttingDown) return;
+        scheduler.schedule(this::connectFeedSession, Instant.now().plusMillis(FEED_RECONNECT_DELAY_MS));
+    }
+
+    @Override
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    // Keeps proxies from closing idle streams and detects dead clients between notifications
+    @Scheduled(fixedDelayString = "${notifications.sse.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Set<SseConnection> connections : byUser.values()) {
+            for (SseConnection connection : connections) {
+                offer(connection, StreamEvent.HEARTBEAT);
+            }
+        }
+    }
+
+    private void replay(SseConnection connection, String lastEventId) {
+        Optional<Anchor> anchor = parseEventId(lastEventId);
+        if (anchor.isEmpty()) return;
+
+        LocalDateTime after = anchor.get().createdAt();
+        long afterId = anchor.get().id();
+        LocalDateTime now = LocalDateTime.now();
+        List<StreamEvent> events = new ArrayList<>();
+        for (Notification n : notificationRepository.findUnreadPageAfter(
+                connection.userId, after, afterId, PageRequest.of(0, replayLimit))) {
+            events.add(replayEvent(n.getId(), n.getCreatedAt(), messageMapper.encode(n.getId(), messageMapper.encodeBody(n, now))));
+        }
+        for (TeamNotification n : teamNotificationRepository.findUnreadForUserAfter(
+                connection.userId, after, afterId, replayLimit)) {
+            events.add(replayEvent(n.getId(), n.getCreatedAt(), messageMapper.encode(n.getId(), messageMapper.encodeBody(n, now))));
+        }
+
+        events.stream()
+                .filter(event -> event.notificationId() != afterId)
+                .sorted(Comparator.comparing(StreamEvent::createdAt).thenComparingLong(StreamEvent::notificationId))
+                .limit(replayLimit)
+                .forEach(event -> offer(connection, event));
+    }
+
+    // Accepts "<millis>-<id>" and, from clients connected before ids carried a timestamp, a bare id
+    private Optional<Anchor> parseEventId(String eventId) {
+        try {
+            int dash = eventId.indexOf('-');
+            if (dash < 0) {
+                long id = Long.parseLong(eventId);
+                return notificationRepository.findCreatedAtById(id)
+                        .or(() -> teamNotificationRepository.findCreatedAtById(id))
+                        .map(createdAt -> new Anchor(createdAt, id));
+            }
+            LocalDateTime createdAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(Long.parseLong(eventId.substring(0, dash))), ZoneId.systemDefault());
+            return Optional.of(new Anchor(createdAt, Long.parseLong(eventId.substring(dash + 1))));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Truncated to millis, which rounds down and so never skips an event on replay
+    static String eventId(LocalDateTime createdAt, long notificationId) {
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + "-" + notificationId;
+    }
+
+    private static StreamEvent replayEvent(long id, LocalDateTime createdAt, byte[] payload) {
+        return new StreamEvent(eventId(createdAt, id), id, payload, createdAt);
+    }
+
+    private boolean isRelayMode() {
+        return "relay".equalsIgnoreCase(brokerMode);
+    }
+
+    private void register(SseConnection connection) {
+        Set<SseConnection> own = byUser.computeIfAbsent(connection.userId, id -> ConcurrentHashMap.newKeySet());
+        own.add(connection);
+        for (Long teamId : connection.teamIds) {
+            byTeam.computeIfAbsent(teamId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+
+        // Oldest streams of the same user go first, e.g. tabs that were never closed
+        if (own.size() > maxConnectionsPerUser) {
+            own.stream()
+                    .sorted(Comparator.comparingLong(c -> c.openedAt))
+                    .limit(own.size() - maxConnectionsPerUser)
+                    .forEach(this::close);
+        }
+    }
+
+    private void unregister(SseConnection connection) {
+        if (!connection.closed.compareAndSet(false, true)) return;
+
+        connectionCount.decrementAndGet();
+        removeFrom(byUser, connection.userId, connection);
+        for (Long teamId : connection.teamIds) {
+            removeFrom(byTeam, teamId, connection);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Set<SseConnection>> index, Long key, SseConnection connection) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void close(SseConnection connection) {
+        unregister(connection);
+        connection.emitter.complete();
+    }
+
+    private void offer(SseConnection connection, StreamEvent event) {
+        if (connection.closed.get()) return;
+
+        if (!connection.queue.offer(event)) {
+            slowClientEvictions.increment();
+            log.warn("🐢 Evicting slow SSE client of user {}", connection.userId);
+            close(connection);
+            return;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(SseConnection connection) {
+        if (!connection.draining.compareAndSet(false, true)) return;
+        sseExecutor.execute(() -> drain(connection));
+    }
+
+    // Single writer per connection: only the task holding the draining flag sends
+    private void drain(SseConnection connection) {
+        try {
+            StreamEvent event;
+            while (!connection.closed.get() && (event = connection.queue.poll()) != null) {
+                connection.emitter.send(event == StreamEvent.HEARTBEAT
+                        ? SseEmitter.event().comment("ping")
+                        : SseEmitter.event()
+                                .id(event.id())
+                                .name(EVENT_NAME)
+                                .data(event.payload(), MediaType.APPLICATION_JSON));
+            }
+        } catch (Exception e) {
+            close(connection);
+            return;
+        } finally {
+            connection.draining.set(false);
+        }
+
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!connection.queue.isEmpty() && !connection.closed.get()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    private final class FeedHandler extends StompSessionHandlerAdapter {
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            feedSession = session;
+            session.subscribe(FEED_TOPIC, this);
+            log.info("📡 SSE feed subscribed to {}", FEED_TOPIC);
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            String eventId = headers.getFirst(EVENT_ID_HEADER);
+            String recipientId = headers.getFirst(RECIPIENT_HEADER);
+            String teamId = headers.getFirst(TEAM_HEADER);
+            if (eventId == null || (recipientId == null && teamId == null)) return;
+
+            deliver(recipientId != null ? Long.valueOf(recipientId) : null,
+                    teamId != null ? Long.valueOf(teamId) : null,
+                    new StreamEvent(eventId, (byte[]) payload));
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            if (!session.isConnected()) {
+                log.warn("⚠️ SSE feed has no broker connection, retrying: {}", exception.getMessage());
+                reconnectFeed();
+            }
+        }
+    }
+
+    private record StreamEvent(String id, long notificationId, byte[] payload, LocalDateTime createdAt) {
+        private static final StreamEvent HEARTBEAT = new StreamEvent(null, 0, null, null);
+
+        private StreamEvent(String id, byte[] payload) {
+            this(id, 0, payload, null);
+        }
+    }
+
+    private record Anchor(LocalDateTime createdAt, long id) {
+    }
+
+    private static final class SseConnection {
+        private final Long userId;
+        private final List<Long> teamIds;
+        private final SseEmitter emitter;
+        private final Queue<StreamEvent> queue;
+        private final long openedAt = System.nanoTime();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private SseConnection(Long userId, List<Long> teamIds, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.teamIds = teamIds;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.model.JobWatermark;
+import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.model.enm.NotificationType;
+import com.biswas.project_management_backend.repository.JobWatermarkRepository;
+import com.biswas.project_management_backend.repository.TaskRepository;
+import com.biswas.project_management_backend.repository.UserRepository;
+import com.biswas.project_management_backend.service.NotificationCounterService;
+import com.biswas.project_management_backend.service.NotificationOutboxService;
+import com.biswas.project_management_backend.service.OverdueTaskSweepService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notifies assignees about tasks that became overdue since the previous run.
+ *
+ * The watermark row stores the day of the last run: tasks due before it were
+ * already reported, tasks due in [watermark, today) are new. Matching tasks are
+ * paged by (due_date, id) and collapsed into one digest notification per assignee;
+ * pushes go through the outbox together with the inserted rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OverdueTaskSweepServiceImpl implements OverdueTaskSweepService {
+
+    static final String JOB_NAME = "overdue-task-sweep";
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    private static final String INSERT_NOTIFICATION = """
+            INSERT INTO notifications (message, type, is_read, created_at, recipient_id, related_entity_id)
+            VALUES (?, ?, FALSE, ?, ?, ?)
+            """;
+
+    private final TaskRepository taskRepository;
+    private final JobWatermarkRepository watermarkRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final NotificationOutboxService notificationOutboxService;
+    private final NotificationCounterService notificationCounterService;
+
+    @Value("${tasks.overdue-sweep.page-size:500}")
+    private int pageSize;
+
+    @Value("${tasks.overdue-sweep.batch-size:100}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${tasks.overdue-sweep.cron:0 5 0 * * *}")
+    public int sweep() {
+        LocalDate today = LocalDate.now();
+        JobWatermark watermark = watermarkRepository.lockByJobName(JOB_NAME)
+                .orElseGet(() -> JobWatermark.builder()
+                        .jobName(JOB_NAME)
+                        .watermarkDate(today.minusDays(1))
+                        .build());
+
+        LocalDate from = watermark.getWatermarkDate();
+        if (!from.isBefore(today)) {
+            return 0;
+        }
+
+        Map<Long, Digest> digests = collectDigests(from, today);
+        List<Long> recipients = new ArrayList<>(digests.keySet());
+        List<Notification> created = insertDigests(recipients, digests);
+
+        watermark.setWatermarkDate(today);
+        watermarkRepository.save(watermark);
+
+        notificationCounterService.increment(recipients);
+        notificationOutboxService.enqueue(created);
+
+        log.info("⏰ Overdue sweep: window=[{}, {}) tasks={} digests={}",
+                from, today, digests.values().stream().mapToInt(d -> d.taskCount).sum(), created.size());
+        return created.size();
+    }
+
+    private Map<Long, Digest> collectDigests(LocalDate from, LocalDate to) {
+        Map<Long, Digest> digests = new LinkedHashMap<>();
+
+        LocalDate afterDueDate = from.minusDays(1);
+        long afterId = 0L;
+        List<Object[]> page;
+        do {
+            page = taskRepository.findOpenTasksDueBetweenAfter(from, to, afterDueDate, afterId, pageSize);
+            for (Object[] row : page) {
+                long taskId = ((Number) row[0]).longValue();
+                String title = (String) row[1];
+                long assigneeId = ((Number) row[3]).longValue();
+
+                digests.computeIfAbsent(assigneeId, id -> new Digest()).add(taskId, title);
+
+                afterDueDate = toLocalDate(row[2]);
+                afterId = taskId;
+            }
+        } while (page.size() == pageSize);
+
+        return digests;
+    }
+
+    // Returns the created notifications in the same order as the recipients
+    private List<Notification> insertDigests(List<Long> recipients, Map<Long, Digest> digests) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(recipients.size());
+
+        for (Long recipientId : recipients) {
+            Digest digest = digests.get(recipientId);
+            notifications.add(Notification.builder()
+                    .recipient(userRepository.getReferenceById(recipientId))
+                    .message(digest.message())
+                    .type(NotificationType.TASK_OVERDUE)
+                    .isRead(false)
+                    .createdAt(now)
+                    .relatedEntityId(digest.taskCount == 1 ? digest.firstTaskId : null)
+                    .build());
+        }
+
+        for (int start = 0; start < notifications.size(); start += batchSize) {
+            List<Notification> batch = notifications.subList(start, Math.min(start + batchSize, notifications.size()));
+            List<Long> batchRecipients = recipients.subList(start, start + batch.size());
+            insertBatch(batch, batchRecipients);
+        }
+        return notifications;
+    }
+
+    private void insertBatch(List<Notification> batch, List<Long> recipients) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_NOTIFICATION, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Notification n = batch.get(i);
+                        ps.setString(1, n.getMessage());
+                        ps.setString(2, n.getType().name());
+                        ps.setTimestamp(3, Timestamp.valueOf(n.getCreatedAt()));
+                        ps.setLong(4, recipients.get(i));
+                        if (n.getRelatedEntityId() != null) {
+                            ps.setLong(5, n.getRelatedEntityId());
+                        } else {
+                            ps.setNull(5, Types.BIGINT);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keys
+        );
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < generated.size() && i < batch.size(); i++) {
+            batch.get(i).setId(((Number) generated.get(i).get("id")).longValue());
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static final class Digest {
+        private final StringBuilder titles = new StringBuilder();
+        private int taskCount;
+        private Long firstTaskId;
+
+        private void add(long taskId, String title) {
+            if (taskCount == 0) {
+                firstTaskId = taskId;
+            }
+            taskCount++;
+            if (titles.length() < MAX_MESSAGE_LENGTH) {
+                if (!titles.isEmpty()) titles.append(", ");
+                titles.append(title);
+            }
+        }
+
+        private String message() {
+            String message = taskCount == 1
+                    ? "Your task is now overdue: " + titles
+                    : "You have " + taskCount + " newly overdue tasks: " + titles;
+            return message.length() <= MAX_MESSAGE_LENGTH
+                    ? message
+                    : message.substring(0, MAX_MESSAGE_LENGTH - 3) + "...";
+        }
+    }
+}
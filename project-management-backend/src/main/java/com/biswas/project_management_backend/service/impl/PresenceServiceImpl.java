@@ -0,0 +1,164 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.dto.UserDto;
+import com.biswas.project_management_backend.dto.mapper.UserDtoMapper;
+import com.biswas.project_management_backend.repository.ProjectRepository;
+import com.biswas.project_management_backend.repository.TeamRepository;
+import com.biswas.project_management_backend.repository.UserRepository;
+import com.biswas.project_management_backend.service.PresenceService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory presence of users with an open STOMP session.
+ *
+ * State is keyed by session id: CONNECTED/DISCONNECT events add and remove
+ * sessions, every inbound frame (client heartbeats included) refreshes its
+ * last-seen time, and a sweep drops sessions that went silent without a
+ * DISCONNECT. A user is online while they have at least one session. Nothing
+ * is written to the database.
+ *
+ * Because sessions are independent entries, presence of several nodes can
+ * later be merged by exchanging session connect/disconnect deltas over the
+ * broker relay; per-user counts are derived from the union.
+ */
+@Slf4j
+@Service
+public class PresenceServiceImpl implements PresenceService {
+
+    private final TeamRepository teamRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final UserDtoMapper userDtoMapper;
+
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, UserPresence> users = new ConcurrentHashMap<>();
+
+    // Three missed heartbeats at the default 10s interval
+    @Value("${presence.stale-after-ms:30000}")
+    private long staleAfterMs;
+
+    public PresenceServiceImpl(TeamRepository teamRepository,
+                               ProjectRepository projectRepository,
+                               UserRepository userRepository,
+                               UserDtoMapper userDtoMapper,
+                               MeterRegistry meterRegistry) {
+        this.teamRepository = teamRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.userDtoMapper = userDtoMapper;
+
+        Gauge.builder("presence.users.online", users, Map::size)
+                .description("Users with at least one open STOMP session")
+                .register(meterRegistry);
+        Gauge.builder("presence.sessions", sessions, Map::size)
+                .description("STOMP sessions tracked for presence")
+                .register(meterRegistry);
+    }
+
+    // Session entries change only inside compute() on their user's entry, so a DISCONNECT
+    // racing the CONNECT of the same session can never leave the user counted online
+    @Override
+    public void sessionConnected(Long userId, String sessionId) {
+        long now = System.currentTimeMillis();
+        users.compute(userId, (id, presence) -> {
+            if (sessions.putIfAbsent(sessionId, new SessionPresence(userId, now)) != null) return presence;
+
+            if (presence == null) presence = new UserPresence();
+            presence.sessionCount.incrementAndGet();
+            presence.lastSeen = now;
+            return presence;
+        });
+    }
+
+    @Override
+    public void sessionDisconnected(String sessionId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session == null) return;
+
+        users.compute(session.userId, (id, presence) -> {
+            if (!sessions.remove(sessionId, session) || presence == null) return presence;
+            return presence.sessionCount.decrementAndGet() <= 0 ? null : presence;
+        });
+    }
+
+    @Override
+    public void touch(String sessionId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session == null) return;
+
+        long now = System.currentTimeMillis();
+        session.lastSeen = now;
+        UserPresence presence = users.get(session.userId);
+        if (presence != null) presence.lastSeen = now;
+    }
+
+    @Override
+    public boolean isOnline(Long userId) {
+        return users.containsKey(userId);
+    }
+
+    @Override
+    public List<UserDto> getOnlineTeamMembers(Long teamId) {
+        return onlineUsers(teamRepository.findMemberIdsById(teamId));
+    }
+
+    @Override
+    public List<UserDto> getOnlineProjectMembers(Long projectId) {
+        return onlineUsers(projectRepository.findMemberIdsById(projectId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${presence.sweep-interval-ms:15000}")
+    public int sweepStaleSessions() {
+        long cutoff = System.currentTimeMillis() - staleAfterMs;
+        List<String> stale = sessions.entrySet().stream()
+                .filter(e -> e.getValue().lastSeen < cutoff)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        stale.forEach(this::sessionDisconnected);
+        if (!stale.isEmpty()) {
+            log.info("👻 Presence sweep dropped {} stale session(s)", stale.size());
+        }
+        return stale.size();
+    }
+
+    // Membership ids come from the DB; only the online ones are loaded as users
+    private List<UserDto> onlineUsers(List<Long> memberIds) {
+        List<Long> online = memberIds.stream()
+                .filter(users::containsKey)
+                .collect(Collectors.toList());
+        if (online.isEmpty()) return Collections.emptyList();
+
+        return userRepository.findAllById(online).stream()
+                .map(userDtoMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private static final class SessionPresence {
+        private final Long userId;
+        private volatile long lastSeen;
+
+        private SessionPresence(Long userId, long lastSeen) {
+            this.userId = userId;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    private static final class UserPresence {
+        private final AtomicInteger sessionCount = new AtomicInteger();
+        private volatile long lastSeen;
+    }
+}
@@ -14,6 +14,7 @@ import com.biswas.project_management_backend.repository.TeamRepository;
 import com.biswas.project_management_backend.repository.UserRepository;
 import com.biswas.project_management_backend.service.NotificationService;
 import com.biswas.project_management_backend.service.ProjectService;
+import com.biswas.project_management_backend.service.TaskCubeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -44,6 +45,9 @@ public class ProjectServiceImpl implements ProjectService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private TaskCubeService taskCubeService;
+
     @Override
     public List<Project> getProjectsByTeamId(Long teamId){
         return projectRepo.findByTeamId(teamId);
@@ -72,25 +76,22 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = dtoMapper.toEntity(projectDto);
         Project savedProject = projectRepo.save(project);
 
-        sendNotifications(savedProject.getMembers(), savedProject);
+        sendNotifications(savedProject);
 
         return dtoMapper.toDto(savedProject);
     }
 
+    // A team-wide event is one row and one topic publish, read by members through team_members
     @Override
-    public void sendNotifications(Set<User> recipients, Project project) {
-
-        if (recipients != null) {
-            for (User recipient: recipients) {
-                notificationService.createNotification(
-                        recipient,
-                        "Your team has been assigned a new project: " + project.getName(),
-                        NotificationType.PROJECT_ASSIGNED,
-                        project.getId()
-                );
-            }
-        }
-
+    public void sendNotifications(Project project) {
+        if (project.getTeam() == null) return;
+
+        notificationService.createTeamNotification(
+                project.getTeam().getId(),
+                "Your team has been assigned a new project: " + project.getName(),
+                NotificationType.PROJECT_ASSIGNED,
+                project.getId()
+        );
     }
 
     @Override
@@ -129,6 +130,11 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public void deleteProject(Long projectId) {
-        projectRepo.deleteById(projectId);
+        projectRepo.findById(projectId).ifPresent(project -> {
+            Long companyId = project.getCompany().getId();
+            projectRepo.delete(project);
+            // The project's tasks go with it by cascade, without a recordTaskDelete per task
+            taskCubeService.evict(companyId);
+        });
     }
 }
@@ -0,0 +1,171 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.analytics.TaskCube;
+import com.biswas.project_management_backend.analytics.TaskCubeDimension;
+import com.biswas.project_management_backend.analytics.TaskCubeFilter;
+import com.biswas.project_management_backend.dto.TaskPivotDto;
+import com.biswas.project_management_backend.model.Task;
+import com.biswas.project_management_backend.model.enm.TaskPriority;
+import com.biswas.project_management_backend.model.enm.TaskStatus;
+import com.biswas.project_management_backend.repository.TaskRepository;
+import com.biswas.project_management_backend.service.TaskCubeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one {@link TaskCube} per company, built lazily on the first pivot request.
+ *
+ * A cube is loaded by the requesting thread outside the map: the map only holds
+ * a future, so concurrent requests wait for the same load without a map lock
+ * held across JDBC. Task writes that commit while a load is still streaming are
+ * chained onto that future and applied once it completes, so none are lost.
+ * Cubes are rebuilt after {@code analytics.cube.ttl-seconds}, which also picks
+ * up writes made on other nodes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskCubeServiceImpl implements TaskCubeService {
+
+    private final TaskRepository taskRepository;
+
+    private final Map<Long, Entry> cubes = new ConcurrentHashMap<>();
+
+    @Value("${analytics.cube.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private record Entry(CompletableFuture<TaskCube> cube, long loadedAtNanos) {
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPivotDto pivot(Long companyId, List<TaskCubeDimension> groupBy, TaskCubeFilter filter) {
+        List<TaskCubeDimension> dimensions = groupBy != null
+                ? new ArrayList<>(new LinkedHashSet<>(groupBy))
+                : List.of();
+
+        return cubeOf(companyId).query(filter, dimensions);
+    }
+
+    @Override
+    public void recordTaskWrite(Task task) {
+        if (task.getId() == null || task.getCompany() == null) return;
+
+        // Snapshot now; the entity must not be touched once the transaction is gone
+        Long companyId = task.getCompany().getId();
+        long taskId = task.getId();
+        TaskStatus status = task.getStatus();
+        TaskPriority priority = task.getPriority();
+        Long assigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+        Long projectId = task.getProject() != null ? task.getProject().getId() : null;
+        LocalDate dueDate = task.getDueDate();
+
+        afterCommit(() -> {
+            Entry entry = cubes.get(companyId);
+            if (entry != null) {
+                entry.cube().thenAccept(cube -> cube.upsert(taskId, status, priority, assigneeId, projectId, dueDate));
+            }
+        });
+    }
+
+    @Override
+    public void recordTaskDelete(Long taskId) {
+        afterCommit(() -> {
+            for (Entry entry : cubes.values()) {
+                entry.cube().thenAccept(cube -> cube.remove(taskId));
+            }
+        });
+    }
+
+    // After commit, so a reload cannot read rows the evicting transaction is about to delete
+    @Override
+    public void evict(Long companyId) {
+        afterCommit(() -> cubes.remove(companyId));
+    }
+
+    private TaskCube cubeOf(Long companyId) {
+        while (true) {
+            Entry current = cubes.get(companyId);
+            if (current != null && !isExpired(current)) {
+                return join(current.cube());
+            }
+
+            Entry mine = new Entry(new CompletableFuture<>(), System.nanoTime());
+            boolean installed = current == null
+                    ? cubes.putIfAbsent(companyId, mine) == null
+                    : cubes.replace(companyId, current, mine);
+            if (!installed) continue;  // another request started a load first
+
+            try {
+                TaskCube cube = load(companyId);
+                mine.cube().complete(cube);
+                return cube;
+            } catch (RuntimeException e) {
+                cubes.remove(companyId, mine);
+                mine.cube().completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.cube().isDone() && System.nanoTime() - entry.loadedAtNanos() > ttlSeconds * 1_000_000_000L;
+    }
+
+    private static TaskCube join(CompletableFuture<TaskCube> cube) {
+        try {
+            return cube.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private TaskCube load(Long companyId) {
+        long start = System.nanoTime();
+        TaskCube cube = new TaskCube(companyId);
+
+        try (Stream<Object[]> rows = taskRepository.streamCubeRowsByCompanyId(companyId)) {
+            rows.forEach(row -> cube.upsert(
+                    (Long) row[0],
+                    (TaskStatus) row[1],
+                    (TaskPriority) row[2],
+                    (Long) row[3],
+                    (Long) row[4],
+                    (LocalDate) row[5]
+            ));
+        }
+
+        log.info("📊 Task cube loaded: companyId={} rows={} bytes={} took={}ms",
+                companyId, cube.size(), cube.memoryFootprintBytes(), (System.nanoTime() - start) / 1_000_000);
+        return cube;
+    }
+
+    // Cube updates must only reflect committed task writes
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
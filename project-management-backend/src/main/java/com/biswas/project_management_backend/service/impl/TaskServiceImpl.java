@@ -8,12 +8,17 @@ import com.biswas.project_management_backend.model.Project;
 import com.biswas.project_management_backend.model.Task;
 import com.biswas.project_management_backend.model.User;
 import com.biswas.project_management_backend.model.enm.NotificationType;
+import com.biswas.project_management_backend.model.enm.TaskStatus;
 import com.biswas.project_management_backend.repository.CompanyRepository;
 import com.biswas.project_management_backend.repository.ProjectRepository;
 import com.biswas.project_management_backend.repository.TaskRepository;
 import com.biswas.project_management_backend.repository.UserRepository;
+import com.biswas.project_management_backend.service.AiElaborationCacheService;
+import com.biswas.project_management_backend.service.AiPrefetchService;
 import com.biswas.project_management_backend.service.NotificationService;
+import com.biswas.project_management_backend.service.TaskCubeService;
 import com.biswas.project_management_backend.service.TaskService;
+import com.biswas.project_management_backend.service.TaskSimilarityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +39,10 @@ public class TaskServiceImpl implements TaskService {
     private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
     private final NotificationService notificationService;
+    private final TaskCubeService taskCubeService;
+    private final AiElaborationCacheService elaborationCache;
+    private final AiPrefetchService aiPrefetchService;
+    private final TaskSimilarityService taskSimilarityService;
 
     @Override
     public TaskDto createTask(TaskDto dto) {
@@ -53,6 +63,10 @@ public class TaskServiceImpl implements TaskService {
             assignTask(saved.getId(), dto.getAssigneeId());
         }
 
+        taskCubeService.recordTaskWrite(saved);
+        aiPrefetchService.enqueue(saved.getId());
+        taskSimilarityService.recordTaskWrite(saved);
+
         return dtoMapper.toDto(saved);
     }
 
@@ -63,6 +77,7 @@ public class TaskServiceImpl implements TaskService {
 
         task.setAssignee(assignee);
         taskRepository.save(task);
+        taskCubeService.recordTaskWrite(task);
 
         notificationService.createNotification(
                 assignee,
@@ -79,6 +94,13 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found with id " + id));
 
+        // Cached elaborations and the embedding derive from the text, so they only go stale when it changes
+        boolean textChanged = !Objects.equals(task.getTitle(), dto.getTitle())
+                || !Objects.equals(task.getDescription(), dto.getDescription());
+        if (textChanged) {
+            elaborationCache.invalidateTask(id);
+        }
+
         task.setTitle(dto.getTitle());
         task.setDescription(dto.getDescription());
         task.setStatus(dto.getStatus());
@@ -86,12 +108,18 @@ public class TaskServiceImpl implements TaskService {
         task.setDueDate(dto.getDueDate());
 
         Task updated = taskRepository.save(task);
+        taskCubeService.recordTaskWrite(updated);
+        if (textChanged) {
+            taskSimilarityService.recordTaskWrite(updated);
+        }
         return dtoMapper.toDto(updated);
     }
 
     @Override
     public void deleteTask(Long id) {
         taskRepository.deleteById(id);
+        taskCubeService.recordTaskDelete(id);
+        taskSimilarityService.recordTaskDelete(id);
     }
 
     @Override
@@ -134,7 +162,7 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public List<TaskDto> getOverdueTasks(Project project) {
-        List<Task> tasks = taskRepository.findByProjectAndDueDateBefore(project, LocalDate.now());
+        List<Task> tasks = taskRepository.findByProjectAndDueDateBeforeAndStatusNot(project, LocalDate.now(), TaskStatus.DONE);
         List<TaskDto> dtos = new ArrayList<>();
         for (Task t : tasks) {
             dtos.add(dtoMapper.toDto(t));
@@ -0,0 +1,270 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.ai.HnswIndex;
+import com.biswas.project_management_backend.ai.TextEmbedder;
+import com.biswas.project_management_backend.config.AsyncConfig;
+import com.biswas.project_management_backend.dto.SimilarTaskDto;
+import com.biswas.project_management_backend.model.Task;
+import com.biswas.project_management_backend.model.TaskEmbedding;
+import com.biswas.project_management_backend.repository.TaskEmbeddingRepository;
+import com.biswas.project_management_backend.repository.TaskRepository;
+import com.biswas.project_management_backend.service.TaskSimilarityService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Similar-task search over embeddings of each task's title and description.
+ *
+ * Vectors are persisted in {@code task_embeddings} and served from one
+ * {@link HnswIndex} per company, loaded lazily on the first query like the
+ * analytics cube. Task writes are re-embedded on the embedding executor after
+ * commit and applied to the row and, if loaded, the index; tasks found without
+ * an embedding while loading are embedded in the background and appear in
+ * results as they complete.
+ */
+@Slf4j
+@Service
+public class TaskSimilarityServiceImpl implements TaskSimilarityService {
+
+    private final TaskRepository taskRepository;
+    private final TaskEmbeddingRepository embeddingRepository;
+    private final TextEmbedder embedder;
+    private final ThreadPoolTaskExecutor embeddingExecutor;
+    private final Timer searchTimer;
+
+    // One index per company, built lazily on the first query; the future is in the map before loading starts
+    private final Map<Long, CompletableFuture<HnswIndex>> indexes = new ConcurrentHashMap<>();
+
+    @Value("${ai.embedding.index.max-links:16}")
+    private int maxLinks;
+
+    @Value("${ai.embedding.index.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${ai.embedding.index.ef-search:64}")
+    private int efSearch;
+
+    public TaskSimilarityServiceImpl(TaskRepository taskRepository,
+                                     TaskEmbeddingRepository embeddingRepository,
+                                     TextEmbedder embedder,
+                                     @Qualifier(AsyncConfig.AI_EMBEDDING_EXECUTOR) ThreadPoolTaskExecutor embeddingExecutor,
+                                     MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.embeddingRepository = embeddingRepository;
+        this.embedder = embedder;
+        this.embeddingExecutor = embeddingExecutor;
+        this.searchTimer = Timer.builder("tasks.similarity.search")
+                .description("Nearest-neighbour queries against the task index")
+                .register(meterRegistry);
+        Gauge.builder("tasks.similarity.indexed", indexes, m -> m.values().stream()
+                        .filter(index -> index.isDone() && !index.isCompletedExceptionally())
+                        .mapToInt(index -> index.join().size())
+                        .sum())
+                .description("Task vectors held in memory across all company indexes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<SimilarTaskDto> findSimilar(Long taskId, int limit) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found with id " + taskId));
+
+        float[] vector = embeddingRepository.findById(taskId)
+                .filter(e -> embedder.modelId().equals(e.getModel()))
+                .map(e -> decode(e.getVector()))
+                .orElseGet(() -> embedder.embed(textOf(task.getTitle(), task.getDescription())));
+
+        // One extra, since the task itself is normally its own best match
+        return query(task.getCompany().getId(), vector, limit + 1).stream()
+                .filter(dto -> !dto.getTaskId().equals(taskId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<SimilarTaskDto> search(Long companyId, String query, int limit) {
+        return query(companyId, embedder.embed(query), limit);
+    }
+
+    @Override
+    public void recordTaskWrite(Task task) {
+        if (task.getId() == null || task.getCompany() == null) return;
+
+        // Snapshot now; the entity must not be touched once the transaction is gone
+        Long taskId = task.getId();
+        Long companyId = task.getCompany().getId();
+        String text = textOf(task.getTitle(), task.getDescription());
+
+        afterCommit(() -> submit(() -> {
+            float[] vector = embedAndStore(taskId, companyId, text);
+            if (vector == null) return;
+            // Applied once a load in progress completes, so it cannot miss a row stored after the load read
+            CompletableFuture<HnswIndex> index = indexes.get(companyId);
+            if (index != null) index.thenAccept(loaded -> loaded.upsert(taskId, vector));
+        }));
+    }
+
+    @Override
+    public void recordTaskDelete(Long taskId) {
+        // The row goes with the task (ON DELETE CASCADE)
+        afterCommit(() -> {
+            for (CompletableFuture<HnswIndex> index : indexes.values()) {
+                index.thenAccept(loaded -> loaded.remove(taskId));
+            }
+        });
+    }
+
+    private List<SimilarTaskDto> query(Long companyId, float[] vector, int limit) {
+        HnswIndex index = indexOf(companyId);
+        // Nothing in common (score <= 0) is not "similar", however few results that leaves
+        List<HnswIndex.Match> matches = searchTimer.record(() -> index.search(vector, limit, efSearch)).stream()
+                .filter(match -> match.score() > 0)
+                .collect(Collectors.toList());
+        if (matches.isEmpty()) return List.of();
+
+        Map<Long, Task> tasks = taskRepository.findAllById(matches.stream().map(HnswIndex.Match::key).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<SimilarTaskDto> results = new ArrayList<>(matches.size());
+        for (HnswIndex.Match match : matches) {
+            Task task = tasks.get(match.key());
+            if (task == null) continue;  // deleted since it was indexed
+            results.add(new SimilarTaskDto(task.getId(), task.getTitle(), task.getStatus(),
+                    task.getProject() != null ? task.getProject().getId() : null, match.score()));
+        }
+        return results;
+    }
+
+    // Loads outside the map: computeIfAbsent would hold a bin lock through the database read
+    private HnswIndex indexOf(Long companyId) {
+        while (true) {
+            CompletableFuture<HnswIndex> current = indexes.get(companyId);
+            if (current != null) {
+                return join(current);
+            }
+
+            CompletableFuture<HnswIndex> mine = new CompletableFuture<>();
+            if (indexes.putIfAbsent(companyId, mine) != null) continue;  // another request started a load first
+
+            try {
+                HnswIndex index = load(companyId);
+                mine.complete(index);
+                return index;
+            } catch (RuntimeException e) {
+                indexes.remove(companyId, mine);
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private static HnswIndex join(CompletableFuture<HnswIndex> index) {
+        try {
+            return index.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private HnswIndex load(Long companyId) {
+        long start = System.nanoTime();
+        HnswIndex index = new HnswIndex(embedder.dimensions(), maxLinks, efConstruction);
+
+        for (TaskEmbedding embedding : embeddingRepository.findByCompanyIdAndModel(companyId, embedder.modelId())) {
+            index.upsert(embedding.getTaskId(), decode(embedding.getVector()));
+        }
+
+        List<Long> missing = embeddingRepository.findTaskIdsWithoutEmbedding(companyId, embedder.modelId());
+        for (Long taskId : missing) {
+            // Handed the index directly: its future is not completed until this method returns
+            submit(() -> taskRepository.findById(taskId).ifPresent(task -> {
+                float[] vector = embedAndStore(taskId, companyId, textOf(task.getTitle(), task.getDescription()));
+                if (vector != null) index.upsert(taskId, vector);
+            }));
+        }
+
+        log.info("🧭 Task similarity index loaded: companyId={} vectors={} backfilling={} took={}ms",
+                companyId, index.size(), missing.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    // Returns null if the task was deleted in the meantime
+    private float[] embedAndStore(Long taskId, Long companyId, String text) {
+        float[] vector = embedder.embed(text);
+        if (!taskRepository.existsById(taskId)) return null;
+
+        embeddingRepository.save(TaskEmbedding.builder()
+                .taskId(taskId)
+                .companyId(companyId)
+                .model(embedder.modelId())
+                .vector(encode(vector))
+                .build());
+        return vector;
+    }
+
+    private void submit(Runnable work) {
+        try {
+            embeddingExecutor.execute(() -> {
+                try {
+                    work.run();
+                } catch (Exception e) {
+                    log.warn("⚠️ Task embedding failed: {}", e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Dropped under overload; the task is picked up again the next time its company's index loads
+            log.warn("⚠️ Task embedding queue full, skipping");
+        }
+    }
+
+    private static String textOf(String title, String description) {
+        return description == null ? String.valueOf(title) : title + "\n" + description;
+    }
+
+    private static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    private static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    // Index updates must only reflect committed task writes
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
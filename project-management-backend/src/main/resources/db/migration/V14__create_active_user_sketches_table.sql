@@ -0,0 +1,9 @@
+CREATE TABLE active_user_sketches (
+    id BIGSERIAL PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    activity_date DATE NOT NULL,
+    registers BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_active_user_sketches_company FOREIGN KEY (company_id) REFERENCES companies (id) ON DELETE CASCADE,
+    CONSTRAINT uq_active_user_sketches_company_date UNIQUE (company_id, activity_date)
+);
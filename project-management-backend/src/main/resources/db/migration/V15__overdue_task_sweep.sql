@@ -0,0 +1,12 @@
+-- Only open tasks are ever swept for overdue notifications
+CREATE INDEX idx_task_open_due_date ON task (due_date, id) WHERE status <> 'DONE';
+
+CREATE TABLE job_watermarks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    watermark_date DATE NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- First run only notifies about tasks that became overdue yesterday
+INSERT INTO job_watermarks (job_name, watermark_date)
+VALUES ('overdue-task-sweep', CURRENT_DATE - 1);
@@ -0,0 +1,3 @@
+-- Hibernate reserves 50 ids per nextval so notification inserts can be JDBC-batched.
+-- Plain SQL inserts relying on the column default still draw unique values.
+ALTER SEQUENCE notifications_id_seq INCREMENT BY 50;
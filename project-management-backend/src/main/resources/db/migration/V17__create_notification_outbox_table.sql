@@ -0,0 +1,14 @@
+-- Pending broker deliveries, written in the same transaction as the notification itself
+CREATE TABLE notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    notification_id BIGINT NOT NULL,
+    recipient_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+ALTER SEQUENCE notification_outbox_id_seq INCREMENT BY 50;
+
+CREATE INDEX idx_notification_outbox_next_attempt ON notification_outbox (next_attempt_at, id);
@@ -0,0 +1,3 @@
+-- Payloads are stored as the exact UTF-8 JSON bytes sent to the broker
+ALTER TABLE notification_outbox
+    ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
@@ -0,0 +1,16 @@
+-- Serves the unread list newest-first with (created_at, id) keyset paging
+CREATE INDEX idx_notifications_recipient_unread
+    ON notifications (recipient_id, is_read, created_at DESC, id DESC);
+
+-- Maintained unread totals so the badge never counts rows
+CREATE TABLE notification_counters (
+    user_id BIGINT PRIMARY KEY,
+    unread_count INT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_notification_counter_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+INSERT INTO notification_counters (user_id, unread_count)
+SELECT recipient_id, COUNT(*)
+FROM notifications
+WHERE is_read = FALSE
+GROUP BY recipient_id;
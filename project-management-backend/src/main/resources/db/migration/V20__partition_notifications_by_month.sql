@@ -0,0 +1,58 @@
+-- Range-partition notifications by created_at month so expiry is a DROP/DETACH
+-- instead of a mass DELETE. Further partitions are created ahead of time by
+-- the notification partition maintenance job.
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+
+-- Keep the id sequence alive when the legacy table is dropped
+ALTER SEQUENCE notifications_id_seq OWNED BY NONE;
+
+CREATE TABLE notifications (
+    id BIGINT NOT NULL DEFAULT nextval('notifications_id_seq'),
+    message VARCHAR(255) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    recipient_id BIGINT NOT NULL,
+    related_entity_id BIGINT,
+    -- The partition key has to be part of every unique constraint
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_notification_user FOREIGN KEY (recipient_id) REFERENCES users (id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+-- Catches rows outside the pre-created months; maintenance moves them out again
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- One partition per month from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at))::date, date_trunc('month', CURRENT_DATE)::date)
+    INTO month_start
+    FROM notifications_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+            'notifications_p' || to_char(month_start, 'YYYY_MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, message, type, is_read, created_at, recipient_id, related_entity_id)
+SELECT id, message, type, is_read, created_at, recipient_id, related_entity_id
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+CREATE INDEX idx_notifications_recipient_unread
+    ON notifications (recipient_id, is_read, created_at DESC, id DESC);
+
+INSERT INTO job_watermarks (job_name, watermark_date)
+VALUES ('notification-partition-maintenance', CURRENT_DATE - 1);
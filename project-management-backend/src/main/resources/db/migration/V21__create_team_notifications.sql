@@ -0,0 +1,31 @@
+-- One row per team event; members read it through team_members instead of
+-- getting a copy each. Ids come from the personal notifications sequence so
+-- a notification id is unique across both tables.
+CREATE TABLE team_notifications (
+    id BIGINT PRIMARY KEY DEFAULT nextval('notifications_id_seq'),
+    team_id BIGINT NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    related_entity_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_team_notification_team FOREIGN KEY (team_id) REFERENCES teams (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_team_notifications_team_created
+    ON team_notifications (team_id, created_at DESC, id DESC);
+
+-- Per-member read marks; absence means unread
+CREATE TABLE team_notification_reads (
+    team_notification_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (team_notification_id, user_id),
+    CONSTRAINT fk_team_notification_read_notification FOREIGN KEY (team_notification_id)
+        REFERENCES team_notifications (id) ON DELETE CASCADE,
+    CONSTRAINT fk_team_notification_read_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Outbox rows target either one user or one team topic
+ALTER TABLE notification_outbox ALTER COLUMN recipient_id DROP NOT NULL;
+ALTER TABLE notification_outbox ADD COLUMN team_id BIGINT;
+ALTER TABLE notification_outbox
+    ADD CONSTRAINT chk_notification_outbox_target CHECK ((recipient_id IS NULL) <> (team_id IS NULL));
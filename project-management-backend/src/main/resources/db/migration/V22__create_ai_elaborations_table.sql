@@ -0,0 +1,12 @@
+-- Persisted tier of the AI elaboration cache, keyed by a SHA-256 of the prompt inputs
+CREATE TABLE ai_elaborations (
+    content_hash CHAR(64) PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    response TEXT NOT NULL,
+    latency_ms BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    last_hit_at TIMESTAMP,
+    CONSTRAINT fk_ai_elaborations_task FOREIGN KEY (task_id) REFERENCES task (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_ai_elaborations_task ON ai_elaborations (task_id);
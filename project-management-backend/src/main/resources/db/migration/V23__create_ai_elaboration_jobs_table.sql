@@ -0,0 +1,11 @@
+-- Tasks waiting for a background elaboration. Written in the task's own transaction;
+-- a claimed row is leased by pushing next_attempt_at forward, so a crashed worker's jobs come back
+CREATE TABLE ai_elaboration_jobs (
+    task_id BIGINT PRIMARY KEY,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_ai_elaboration_jobs_task FOREIGN KEY (task_id) REFERENCES task (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_ai_elaboration_jobs_next_attempt ON ai_elaboration_jobs (next_attempt_at, task_id);
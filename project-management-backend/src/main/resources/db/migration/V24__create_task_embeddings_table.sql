@@ -0,0 +1,12 @@
+-- Task text embeddings, little-endian float32. The in-memory similarity index is loaded from here;
+-- rows of another embedding model are ignored and recomputed
+CREATE TABLE task_embeddings (
+    task_id BIGINT PRIMARY KEY,
+    company_id BIGINT NOT NULL,
+    model VARCHAR(100) NOT NULL,
+    vector BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_task_embeddings_task FOREIGN KEY (task_id) REFERENCES task (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_task_embeddings_company_model ON task_embeddings (company_id, model);
@@ -0,0 +1,12 @@
+-- Resized copies of an uploaded image, one row per bounding-box size. images.url points at the largest
+CREATE TABLE image_variants (
+    image_id BIGINT NOT NULL,
+    size INT NOT NULL,
+    width INT NOT NULL,
+    height INT NOT NULL,
+    bytes BIGINT NOT NULL,
+    url VARCHAR(512) NOT NULL,
+    public_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (image_id, size),
+    CONSTRAINT fk_image_variants_image FOREIGN KEY (image_id) REFERENCES images (id) ON DELETE CASCADE
+);
@@ -0,0 +1,8 @@
+-- Profile uploads are processed in the background: the row exists (PENDING) before its files do.
+-- Replaced and removed images are marked DELETING and purged in batches
+ALTER TABLE images
+    ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'READY',
+    ALTER COLUMN url DROP NOT NULL,
+    ALTER COLUMN public_id DROP NOT NULL;
+
+CREATE INDEX idx_images_deleting ON images (id) WHERE status = 'DELETING';
@@ -0,0 +1,8 @@
+-- Copy of the profile image URL on the user row, so mapping a user never loads its image.
+-- Kept in sync by CommonServiceImpl whenever users.image_id changes
+ALTER TABLE users ADD COLUMN profile_image_url VARCHAR(512);
+
+UPDATE users u
+SET profile_image_url = i.url
+FROM images i
+WHERE u.image_id = i.id;
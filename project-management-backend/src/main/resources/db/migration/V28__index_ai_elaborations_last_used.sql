@@ -0,0 +1,2 @@
+-- Retention purge of the elaboration cache scans by last use, i.e. last hit or else creation
+CREATE INDEX idx_ai_elaborations_last_used ON ai_elaborations ((COALESCE(last_hit_at, created_at)));
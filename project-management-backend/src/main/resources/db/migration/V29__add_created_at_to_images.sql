@@ -0,0 +1,6 @@
+-- A PENDING image whose upload never finished (its node went down) is swept once it is old enough.
+-- Existing rows are READY or DELETING, so their creation time does not matter
+ALTER TABLE images
+    ADD COLUMN created_at TIMESTAMP NOT NULL DEFAULT NOW();
+
+CREATE INDEX idx_images_pending ON images (created_at) WHERE status = 'PENDING';
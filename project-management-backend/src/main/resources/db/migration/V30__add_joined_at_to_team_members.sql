@@ -0,0 +1,4 @@
+-- Team notifications are shown to a member only from the moment they joined the team.
+-- Existing memberships keep the history they could already see; new ones start now
+ALTER TABLE team_members ADD COLUMN joined_at TIMESTAMP NOT NULL DEFAULT '-infinity';
+ALTER TABLE team_members ALTER COLUMN joined_at SET DEFAULT NOW();
@@ -0,0 +1,129 @@
+package com.biswas.project_management_backend.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void initialLimitIsClampedToMinAndMax() {
+        assertEquals(5, new AdaptiveConcurrencyLimiter(10, 2, 5, 2.0).getLimit());
+        assertEquals(2, new AdaptiveConcurrencyLimiter(0, 2, 5, 2.0).getLimit());
+        // A minimum below one would let the limiter shut out every call
+        assertEquals(1, new AdaptiveConcurrencyLimiter(0, 0, 5, 2.0).getLimit());
+    }
+
+    @Test
+    void admitsUpToTheLimitAndAgainAfterRelease() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 4, 2.0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void droppedCallHalvesTheLimitDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 3, 16, 2.0);
+
+        limiter.onDropped();
+        assertEquals(4, limiter.getLimit());
+        limiter.onDropped();
+        assertEquals(3, limiter.getLimit());
+        limiter.onDropped();
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void slowSampleShrinksTheLimitMultiplicatively() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 16, 2.0);
+        limiter.onSuccess(100);
+        assertEquals(10, limiter.getLimit());
+
+        limiter.onSuccess(500);
+        assertEquals(9, limiter.getLimit());
+        limiter.onSuccess(500);
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void repeatedSlowSamplesStopAtTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 16, 2.0);
+        limiter.onSuccess(10);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess(10_000);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void healthySampleGrowsTheLimitOnlyWhileItIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 16, 2.0);
+
+        // Idle: a fast answer must not inflate the limit
+        limiter.onSuccess(100);
+        assertEquals(8, limiter.getLimit());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        limiter.onSuccess(100);
+        assertEquals(9, limiter.getLimit());
+
+        limiter.release();
+        limiter.onSuccess(100);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void growthStopsAtTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 1, 4, 2.0);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        for (int i = 0; i < 5; i++) {
+            limiter.onSuccess(100);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void lowerSampleResetsTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 16, 2.0);
+        limiter.onSuccess(1000);
+
+        // Healthy against a 1000 ms baseline
+        limiter.onSuccess(1500);
+        assertEquals(10, limiter.getLimit());
+
+        // After a 100 ms sample the same latency counts as slow
+        limiter.onSuccess(100);
+        limiter.onSuccess(1500);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void baselineDriftsTowardsPersistentlySlowerSamples() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 16, 2.0);
+        limiter.onSuccess(100);
+
+        // 150 ms never exceeds twice the baseline, so the limit holds while the baseline creeps up
+        for (int i = 0; i < 500; i++) {
+            limiter.onSuccess(150);
+        }
+        assertEquals(10, limiter.getLimit());
+
+        // Twice the original baseline is now within tolerance
+        limiter.onSuccess(250);
+        assertEquals(10, limiter.getLimit());
+    }
+}
@@ -0,0 +1,243 @@
+package com.biswas.project_management_backend.ai;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AiBulkheadTest {
+
+    private static final Prompt PROMPT = new Prompt("Elaborate the task");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void shutdown() {
+        if (executor != null) executor.shutdown();
+    }
+
+    @Test
+    void callReturnsTheModelAnswerAndReleasesItsPermit() {
+        AiBulkhead bulkhead = bulkhead(2, 0, 5_000);
+        StubChatModel model = stub(Duration.ZERO);
+
+        String answer = bulkhead.call(() -> content(model.call(PROMPT)));
+
+        assertEquals(StubChatModel.RESPONSE, answer);
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void callOverTheLimitIsRejectedRightAway() throws Exception {
+        AiBulkhead bulkhead = bulkhead(1, 0, 5_000);
+        StubChatModel slow = stub(Duration.ofMillis(500));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> content(slow.call(PROMPT))));
+        waitUntil(() -> inFlight() == 1);
+
+        long startedAt = System.nanoTime();
+        AiUnavailableException e = assertThrows(AiUnavailableException.class,
+                () -> bulkhead.call(() -> content(slow.call(PROMPT))));
+
+        assertFalse(e.isTimeout());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 200);
+        assertEquals(1.0, meterRegistry.counter("ai.bulkhead.rejected", "reason", "limit").count());
+
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void timedOutCallIsInterruptedAndGivesBackItsPermit() {
+        AiBulkhead bulkhead = bulkhead(2, 0, 100);
+        StubChatModel slow = stub(Duration.ofSeconds(5));
+        int limitBefore = limit();
+
+        AiUnavailableException e = assertThrows(AiUnavailableException.class,
+                () -> bulkhead.call(() -> content(slow.call(PROMPT))));
+
+        assertTrue(e.isTimeout());
+        assertEquals(1.0, meterRegistry.counter("ai.bulkhead.timeouts", "mode", "call").count());
+        assertTrue(limit() < limitBefore);
+        // cancel(true) interrupts the stub's sleep long before its 5 s latency is up
+        waitUntil(() -> inFlight() == 0);
+    }
+
+    @Test
+    void queuedCallThatTimesOutReleasesItsPermitWithoutRunning() {
+        AiBulkhead bulkhead = queueingBulkhead(300);
+        // Ignores interrupts, so it keeps the only thread busy past both callers' timeouts
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> busyFor(Duration.ofMillis(800))));
+        waitUntil(() -> inFlight() == 1);
+
+        AtomicBoolean ran = new AtomicBoolean();
+        AiUnavailableException e = assertThrows(AiUnavailableException.class, () -> bulkhead.call(() -> {
+            ran.set(true);
+            return "queued";
+        }));
+
+        assertTrue(e.isTimeout());
+        // Only the running call still holds a permit
+        assertEquals(1, inFlight());
+        assertThrows(Exception.class, () -> running.get(5, TimeUnit.SECONDS));
+        waitUntil(() -> inFlight() == 0);
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void interruptedCallerReleasesThePermitOfItsQueuedCall() throws Exception {
+        AiBulkhead bulkhead = queueingBulkhead(10_000);
+        StubChatModel slow = stub(Duration.ofSeconds(1));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> content(slow.call(PROMPT))));
+        waitUntil(() -> inFlight() == 1);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                bulkhead.call(() -> content(slow.call(PROMPT)));
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        caller.start();
+        waitUntil(() -> inFlight() == 2);
+
+        caller.interrupt();
+        caller.join(5_000);
+
+        assertTrue(failure.get() instanceof AiUnavailableException);
+        // The queued call never ran, so only the running one may still hold a permit
+        assertEquals(1, inFlight());
+        running.get(5, TimeUnit.SECONDS);
+        waitUntil(() -> inFlight() == 0);
+    }
+
+    @Test
+    void streamRecordsTimeToFirstTokenNotTheWholeStream() {
+        AiBulkhead bulkhead = bulkhead(2, 0, 5_000);
+        // About 11 chunks 50 ms apart: the stream takes over half a second, the first token 50 ms
+        StubChatModel model = new StubChatModel(40, Duration.ofMillis(50), Duration.ZERO);
+
+        long startedAt = System.nanoTime();
+        List<ChatResponse> chunks = bulkhead.stream(() -> model.stream(PROMPT)).collectList().block(Duration.ofSeconds(10));
+        long streamMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertTrue(chunks.size() > 5);
+        Timer firstToken = meterRegistry.find("ai.model.latency").tag("mode", "first-token").timer();
+        assertEquals(1, firstToken.count());
+        assertTrue(firstToken.totalTime(TimeUnit.MILLISECONDS) < streamMs / 2.0);
+        // Released in doFinally, which may run just after block() has returned
+        waitUntil(() -> inFlight() == 0);
+    }
+
+    @Test
+    void streamOverTheLimitIsRejectedBeforeSubscribing() {
+        AiBulkhead bulkhead = bulkhead(1, 0, 5_000);
+        StubChatModel model = new StubChatModel(40, Duration.ofMillis(50), Duration.ZERO);
+        Flux<ChatResponse> open = bulkhead.stream(() -> model.stream(PROMPT));
+
+        AiUnavailableException e = assertThrows(AiUnavailableException.class, () -> bulkhead.stream(() -> model.stream(PROMPT)));
+        assertFalse(e.isTimeout());
+
+        open.blockLast(Duration.ofSeconds(10));
+        waitUntil(() -> inFlight() == 0);
+    }
+
+    @Test
+    void cancelledStreamReleasesItsPermit() {
+        AiBulkhead bulkhead = bulkhead(2, 0, 5_000);
+        StubChatModel model = new StubChatModel(8, Duration.ofMillis(50), Duration.ZERO);
+
+        bulkhead.stream(() -> model.stream(PROMPT)).take(2).blockLast(Duration.ofSeconds(10));
+
+        waitUntil(() -> inFlight() == 0);
+    }
+
+    @Test
+    void idleStreamTimesOut() {
+        AiBulkhead bulkhead = new AiBulkhead(executor(2, 0), meterRegistry, 2, 0, 1, 2.0, 5_000, 100);
+        StubChatModel silent = new StubChatModel(8, Duration.ZERO, Duration.ofSeconds(5));
+
+        AiUnavailableException e = assertThrows(AiUnavailableException.class,
+                () -> bulkhead.stream(() -> silent.stream(PROMPT)).blockLast(Duration.ofSeconds(10)));
+
+        assertTrue(e.isTimeout());
+        assertEquals(1.0, meterRegistry.counter("ai.bulkhead.timeouts", "mode", "stream").count());
+        waitUntil(() -> inFlight() == 0);
+    }
+
+    private AiBulkhead bulkhead(int maxConcurrent, int queueCapacity, long timeoutMs) {
+        return new AiBulkhead(executor(maxConcurrent, queueCapacity), meterRegistry,
+                maxConcurrent, queueCapacity, 1, 2.0, timeoutMs, 5_000);
+    }
+
+    // Two permits but one thread, so a second admitted call waits in the executor queue
+    private AiBulkhead queueingBulkhead(long timeoutMs) {
+        return new AiBulkhead(executor(1, 1), meterRegistry, 2, 0, 1, 2.0, timeoutMs, 5_000);
+    }
+
+    private ThreadPoolTaskExecutor executor(int poolSize, int queueCapacity) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-test-");
+        executor.initialize();
+        return executor;
+    }
+
+    private static StubChatModel stub(Duration latency) {
+        return new StubChatModel(8, Duration.ZERO, latency);
+    }
+
+    private static String busyFor(Duration duration) {
+        long end = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+        return "done";
+    }
+
+    private static String content(ChatResponse response) {
+        return response.getResult().getOutput().getContent();
+    }
+
+    private int inFlight() {
+        return (int) meterRegistry.get("ai.bulkhead.in-flight").gauge().value();
+    }
+
+    private int limit() {
+        return (int) meterRegistry.get("ai.bulkhead.limit").gauge().value();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("Condition not met within 5 s");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.biswas.project_management_backend.ai;
+
+import com.biswas.project_management_backend.dto.AiElaborationEventDto;
+import com.biswas.project_management_backend.dto.AiElaborationResponseDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ElaborationStreamParserTest {
+
+    private static final String JSON = """
+            {"elaboratedTask":"Say \\"hi\\"\\nthen \\u00e9 and \\\\ done","steps":["first \\"one\\"","second"]}""";
+
+    private final ElaborationStreamParser parser = new ElaborationStreamParser(new JsonFactory());
+
+    @Test
+    void everyChunkBoundaryYieldsTheSameFields() {
+        for (int size = 1; size <= JSON.length(); size++) {
+            ElaborationStreamParser chunked = new ElaborationStreamParser(new JsonFactory());
+            List<AiElaborationEventDto> events = feed(chunked, chunks(JSON, size));
+
+            assertEquals(3, events.size(), "chunk size " + size);
+            assertEquals(AiElaborationEventDto.ELABORATED_TASK, events.get(0).getType());
+            assertEquals("Say \"hi\"\nthen é and \\ done", events.get(0).getText());
+            assertEquals(AiElaborationEventDto.STEP, events.get(1).getType());
+            assertEquals("first \"one\"", events.get(1).getText());
+            assertEquals(0, events.get(1).getIndex());
+            assertEquals("second", events.get(2).getText());
+            assertEquals(1, events.get(2).getIndex());
+            assertTrue(chunked.isParsed(), "chunk size " + size);
+        }
+    }
+
+    @Test
+    void splitInsideAnEscapeWaitsForTheRestOfIt() {
+        assertTrue(parser.accept("{\"elaboratedTask\":\"a\\").isEmpty());
+        assertTrue(parser.accept("u00").isEmpty());
+
+        List<AiElaborationEventDto> events = parser.accept("e9\",");
+        assertEquals(1, events.size());
+        assertEquals("aé", events.get(0).getText());
+    }
+
+    @Test
+    void fieldIsReportedAsSoonAsItsClosingQuoteArrives() {
+        assertTrue(parser.accept("{\"elaboratedTask\":\"partial").isEmpty());
+
+        List<AiElaborationEventDto> events = parser.accept(" text\",\"steps\":[\"unfinished");
+        assertEquals(1, events.size());
+        assertEquals("partial text", events.get(0).getText());
+        assertFalse(parser.isParsed());
+    }
+
+    @Test
+    void leadingCodeFenceAndTrailingTextAreSkipped() {
+        List<AiElaborationEventDto> events = feed(parser, chunks("```json\n" + JSON + "\n```", 7));
+
+        assertEquals(3, events.size());
+        assertTrue(parser.isParsed());
+
+        AiElaborationResponseDto result = parser.finish();
+        assertEquals("Say \"hi\"\nthen é and \\ done", result.getElaboratedTask());
+        assertEquals(List.of("first \"one\"", "second"), result.getSteps());
+    }
+
+    @Test
+    void nonJsonFallsBackToTheRawText() {
+        String text = "Sorry, I cannot help with that.";
+        List<AiElaborationEventDto> events = feed(parser, chunks(text, 5));
+
+        assertTrue(events.isEmpty());
+        assertFalse(parser.isParsed());
+
+        AiElaborationResponseDto result = parser.finish();
+        assertEquals(text, result.getElaboratedTask());
+        assertTrue(result.getSteps().isEmpty());
+    }
+
+    @Test
+    void malformedJsonFallsBackToTheRawText() {
+        String text = "{\"elaboratedTask\": oops}";
+        feed(parser, chunks(text, 4));
+
+        assertFalse(parser.isParsed());
+        assertEquals(text, parser.finish().getElaboratedTask());
+    }
+
+    @Test
+    void truncatedJsonIsNotParsedButKeepsTheFieldsReceived() {
+        List<AiElaborationEventDto> events = feed(parser,
+                chunks("{\"elaboratedTask\":\"done\",\"steps\":[\"one\"", 6));
+
+        assertEquals(2, events.size());
+        assertFalse(parser.isParsed());
+
+        AiElaborationResponseDto result = parser.finish();
+        assertEquals("done", result.getElaboratedTask());
+        assertEquals(List.of("one"), result.getSteps());
+    }
+
+    @Test
+    void objectWithoutElaboratedTaskIsNotParsed() {
+        feed(parser, List.of("{\"steps\":[\"one\"]}"));
+
+        assertFalse(parser.isParsed());
+        assertEquals("{\"steps\":[\"one\"]}", parser.finish().getElaboratedTask());
+    }
+
+    @Test
+    void nestedValuesAreNotMistakenForFields() {
+        List<AiElaborationEventDto> events = feed(parser,
+                List.of("{\"meta\":{\"elaboratedTask\":\"no\"},\"elaboratedTask\":\"yes\",\"steps\":[[\"no\"],\"one\"]}"));
+
+        assertEquals(2, events.size());
+        assertEquals("yes", events.get(0).getText());
+        assertEquals("one", events.get(1).getText());
+        assertEquals(0, events.get(1).getIndex());
+        assertNull(events.get(0).getIndex());
+    }
+
+    private static List<AiElaborationEventDto> feed(ElaborationStreamParser parser, List<String> chunks) {
+        List<AiElaborationEventDto> events = new ArrayList<>();
+        for (String chunk : chunks) {
+            events.addAll(parser.accept(chunk));
+        }
+        return events;
+    }
+
+    private static List<String> chunks(String text, int size) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += size) {
+            chunks.add(text.substring(i, Math.min(i + size, text.length())));
+        }
+        return chunks;
+    }
+}
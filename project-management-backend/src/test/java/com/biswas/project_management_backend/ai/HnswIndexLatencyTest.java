@@ -0,0 +1,56 @@
+package com.biswas.project_management_backend.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.biswas.project_management_backend.ai.HnswIndexRecallTest.K;
+import static com.biswas.project_management_backend.ai.HnswIndexRecallTest.QUERIES;
+import static com.biswas.project_management_backend.ai.HnswIndexRecallTest.VECTORS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Per-query latency of approximate against exact search, at the recall HnswIndexRecallTest checks.
+// Wall-clock, so only run with -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+class HnswIndexLatencyTest {
+
+    @Test
+    void approximateSearchIsFasterThanTheExactScan() {
+        Random random = new Random(42);
+        float[][] centers = HnswIndexRecallTest.clusterCenters(random, 50);
+        HnswIndex index = HnswIndexRecallTest.index(random, centers, VECTORS);
+        float[][] queries = HnswIndexRecallTest.queries(random, centers, QUERIES);
+
+        // Warm both paths up before timing them
+        for (float[] query : queries) {
+            index.searchExact(query, K);
+            index.search(query, K, 64);
+        }
+
+        long start = System.nanoTime();
+        List<Set<Long>> truth = new ArrayList<>(QUERIES);
+        for (float[] query : queries) {
+            truth.add(HnswIndexRecallTest.keys(index.searchExact(query, K)));
+        }
+        long exactNanos = System.nanoTime() - start;
+        log.info("exact: {} µs/query", exactNanos / 1_000 / QUERIES);
+
+        long defaultEfNanos = 0;
+        for (int ef : new int[]{16, 64, 256}) {
+            start = System.nanoTime();
+            double recall = HnswIndexRecallTest.recall(index, queries, truth, ef);
+            long nanos = System.nanoTime() - start;
+            log.info("ef={}: recall@{}={} {} µs/query", ef, K, recall, nanos / 1_000 / QUERIES);
+            if (ef == 64) defaultEfNanos = nanos;
+        }
+
+        assertTrue(defaultEfNanos < exactNanos, "approximate search took " + defaultEfNanos / 1_000 / QUERIES
+                + " µs/query, exact " + exactNanos / 1_000 / QUERIES + " µs/query");
+    }
+}
@@ -0,0 +1,147 @@
+package com.biswas.project_management_backend.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Approximate search measured against searchExact, the brute-force reference
+class HnswIndexRecallTest {
+
+    static final int DIMENSIONS = 128;
+    static final int VECTORS = 10_000;
+    static final int QUERIES = 200;
+    static final int K = 10;
+
+    @Test
+    void recallAtDefaultEfAndGrowsWithEf() {
+        Random random = new Random(42);
+        float[][] centers = clusterCenters(random, 50);
+        HnswIndex index = index(random, centers, VECTORS);
+        float[][] queries = queries(random, centers, QUERIES);
+        List<Set<Long>> truth = new ArrayList<>(QUERIES);
+        for (float[] query : queries) {
+            truth.add(keys(index.searchExact(query, K)));
+        }
+
+        double previousRecall = 0;
+        for (int ef : new int[]{16, 64, 256}) {
+            double recall = recall(index, queries, truth, ef);
+
+            // A wider search never finds fewer of the true neighbours by more than noise
+            assertTrue(recall >= previousRecall - 0.02, "ef " + ef + " recall " + recall);
+            previousRecall = recall;
+            if (ef == 64) {
+                assertTrue(recall >= 0.9, "recall@" + K + " at the default ef was " + recall);
+            }
+        }
+    }
+
+    @Test
+    void recallHoldsAfterHalfTheVectorsAreRemoved() {
+        Random random = new Random(7);
+        float[][] centers = clusterCenters(random, 20);
+        HnswIndex index = new HnswIndex(DIMENSIONS, 16, 100);
+        for (int i = 0; i < 4_000; i++) {
+            index.upsert(i, nearby(random, centers));
+        }
+        for (int i = 0; i < 4_000; i += 2) {
+            index.remove(i);
+        }
+        assertEquals(2_000, index.size());
+
+        int hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            float[] query = nearby(random, centers);
+            Set<Long> truth = keys(index.searchExact(query, K));
+            for (HnswIndex.Match match : index.search(query, K, 64)) {
+                assertTrue(match.key() % 2 == 1, "removed vector " + match.key() + " returned");
+                if (truth.contains(match.key())) hits++;
+            }
+        }
+        double recall = hits / (double) (QUERIES * K);
+        assertTrue(recall >= 0.9, "recall@" + K + " after removals was " + recall);
+    }
+
+    @Test
+    void hashedTextFindsTheSameTopMatchAsExactSearch() {
+        HashingTextEmbedder embedder = new HashingTextEmbedder(256);
+        HnswIndex index = new HnswIndex(embedder.dimensions(), 16, 100);
+        String[] titles = {
+                "Fix login bug on mobile",
+                "Design database schema",
+                "Login fails on mobile Safari",
+                "Write release notes",
+                "Database schema migration for tasks"
+        };
+        for (int i = 0; i < titles.length; i++) {
+            index.upsert(i, embedder.embed(titles[i]));
+        }
+
+        for (String query : List.of("mobile login bug", "schema migration", "release notes")) {
+            float[] vector = embedder.embed(query);
+            assertEquals(index.searchExact(vector, 1).get(0).key(), index.search(vector, 1, 64).get(0).key(), query);
+        }
+        assertEquals(0L, index.search(embedder.embed("mobile login bug"), 1, 64).get(0).key());
+    }
+
+    static HnswIndex index(Random random, float[][] centers, int count) {
+        HnswIndex index = new HnswIndex(DIMENSIONS, 16, 100);
+        for (int i = 0; i < count; i++) {
+            index.upsert(i, nearby(random, centers));
+        }
+        return index;
+    }
+
+    static float[][] queries(Random random, float[][] centers, int count) {
+        float[][] queries = new float[count][];
+        for (int i = 0; i < count; i++) {
+            queries[i] = nearby(random, centers);
+        }
+        return queries;
+    }
+
+    static double recall(HnswIndex index, float[][] queries, List<Set<Long>> truth, int ef) {
+        int hits = 0;
+        for (int i = 0; i < queries.length; i++) {
+            for (HnswIndex.Match match : index.search(queries[i], K, ef)) {
+                if (truth.get(i).contains(match.key())) hits++;
+            }
+        }
+        return hits / (double) (queries.length * K);
+    }
+
+    static float[][] clusterCenters(Random random, int count) {
+        float[][] centers = new float[count][DIMENSIONS];
+        for (float[] center : centers) {
+            for (int i = 0; i < DIMENSIONS; i++) {
+                center[i] = (float) random.nextGaussian();
+            }
+        }
+        return centers;
+    }
+
+    // Clustered like real task text, where uniform random vectors would all be near-equidistant
+    private static float[] nearby(Random random, float[][] centers) {
+        float[] center = centers[random.nextInt(centers.length)];
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = center[i] + (float) random.nextGaussian() * 0.8f;
+        }
+        return vector;
+    }
+
+    static Set<Long> keys(List<HnswIndex.Match> matches) {
+        Set<Long> keys = new HashSet<>();
+        for (HnswIndex.Match match : matches) {
+            keys.add(match.key());
+        }
+        return keys;
+    }
+}
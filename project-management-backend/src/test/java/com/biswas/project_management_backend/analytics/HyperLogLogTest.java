@@ -0,0 +1,94 @@
+package com.biswas.project_management_backend.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    // Standard error at precision 12 is 1.04 / sqrt(4096), about 1.6%; allow three of them
+    private static final double MAX_RELATIVE_ERROR = 0.05;
+
+    @Test
+    void estimateStaysWithinTheErrorBound() {
+        for (int distinct : new int[]{1_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = sketchOf(0, distinct);
+            double error = Math.abs(sketch.cardinality() - distinct) / (double) distinct;
+            assertTrue(error <= MAX_RELATIVE_ERROR, distinct + " distinct estimated as " + sketch.cardinality());
+        }
+    }
+
+    @Test
+    void repeatedValuesAreCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                sketch.offer("user-" + i);
+            }
+        }
+        assertArrayEquals(sketchOf(0, 1_000).toBytes(), sketch.toBytes());
+    }
+
+    @Test
+    void mergeEqualsTheSketchOfTheUnion() {
+        // Overlapping ranges, like the same users active on consecutive days
+        HyperLogLog monday = sketchOf(0, 600_000);
+        HyperLogLog tuesday = sketchOf(400_000, 1_000_000);
+
+        HyperLogLog merged = new HyperLogLog().merge(monday).merge(tuesday);
+        assertArrayEquals(sketchOf(0, 1_000_000).toBytes(), merged.toBytes());
+
+        // Idempotent and order independent
+        assertArrayEquals(merged.toBytes(), new HyperLogLog().merge(tuesday).merge(monday).merge(tuesday).toBytes());
+    }
+
+    @Test
+    void serializedRegistersRoundTrip() {
+        HyperLogLog sketch = sketchOf(0, 100_000);
+        byte[] bytes = sketch.toBytes();
+        assertEquals(HyperLogLog.REGISTER_COUNT, bytes.length);
+
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(sketch.cardinality(), restored.cardinality());
+
+        // A restored sketch keeps counting as if it had never been stored
+        for (int i = 100_000; i < 200_000; i++) {
+            restored.offer("user-" + i);
+        }
+        assertArrayEquals(sketchOf(0, 200_000).toBytes(), restored.toBytes());
+
+        // Neither side aliases the other's array
+        bytes[0] = Byte.MAX_VALUE;
+        assertFalse(HyperLogLog.fromBytes(sketch.toBytes()).toBytes()[0] == Byte.MAX_VALUE);
+    }
+
+    @Test
+    void emptySketch() {
+        HyperLogLog sketch = HyperLogLog.fromBytes(new byte[HyperLogLog.REGISTER_COUNT]);
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.cardinality());
+
+        sketch.offer("user-1");
+        assertFalse(sketch.isEmpty());
+        assertEquals(1, sketch.cardinality());
+    }
+
+    @Test
+    void rejectsRegistersOfAnotherPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[1 << 10]));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(null));
+    }
+
+    private static HyperLogLog sketchOf(int fromInclusive, int toExclusive) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = fromInclusive; i < toExclusive; i++) {
+            sketch.offer("user-" + i);
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,151 @@
+package com.biswas.project_management_backend.analytics;
+
+import com.biswas.project_management_backend.dto.TaskPivotCellDto;
+import com.biswas.project_management_backend.dto.TaskPivotDto;
+import com.biswas.project_management_backend.model.enm.TaskPriority;
+import com.biswas.project_management_backend.model.enm.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskCubeTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void groupsByStatus() {
+        TaskCube cube = new TaskCube(1L);
+        cube.upsert(1, TaskStatus.TO_DO, TaskPriority.LOW, 10L, 100L, DAY);
+        cube.upsert(2, TaskStatus.TO_DO, TaskPriority.HIGH, 11L, 100L, DAY);
+        cube.upsert(3, TaskStatus.DONE, TaskPriority.HIGH, null, 101L, DAY);
+
+        TaskPivotDto pivot = cube.query(null, List.of(TaskCubeDimension.STATUS));
+
+        assertEquals(Map.of(TaskStatus.TO_DO, 2L, TaskStatus.DONE, 1L), countsBy(pivot, TaskPivotCellDto::getStatus));
+        assertEquals(3L, pivot.getMatchedTasks());
+        assertEquals(3L, pivot.getCubeRows());
+    }
+
+    @Test
+    void groupsByTwoDimensions() {
+        TaskCube cube = new TaskCube(1L);
+        cube.upsert(1, TaskStatus.TO_DO, TaskPriority.LOW, 10L, 100L, DAY);
+        cube.upsert(2, TaskStatus.TO_DO, TaskPriority.LOW, 10L, 101L, DAY);
+        cube.upsert(3, TaskStatus.TO_DO, TaskPriority.LOW, 11L, 100L, DAY);
+
+        TaskPivotDto pivot = cube.query(null, List.of(TaskCubeDimension.ASSIGNEE, TaskCubeDimension.PROJECT));
+
+        assertEquals(3, pivot.getCells().size());
+        for (TaskPivotCellDto cell : pivot.getCells()) {
+            assertEquals(1L, cell.getCount());
+            assertNull(cell.getStatus());
+        }
+    }
+
+    @Test
+    void unassignedTasksGroupUnderNullAssignee() {
+        TaskCube cube = new TaskCube(1L);
+        cube.upsert(1, TaskStatus.TO_DO, TaskPriority.LOW, null, 100L, DAY);
+        cube.upsert(2, TaskStatus.TO_DO, TaskPriority.LOW, 7L, 100L, DAY);
+
+        TaskPivotDto pivot = cube.query(null, List.of(TaskCubeDimension.ASSIGNEE));
+
+        Map<Long, Long> counts = pivot.getCells().stream()
+                .collect(Collectors.toMap(c -> c.getAssigneeId() == null ? -1L : c.getAssigneeId(), TaskPivotCellDto::getCount));
+        assertEquals(Map.of(-1L, 1L, 7L, 1L), counts);
+    }
+
+    @Test
+    void filtersByPriorityAndInclusiveDueRange() {
+        TaskCube cube = new TaskCube(1L);
+        cube.upsert(1, TaskStatus.TO_DO, TaskPriority.HIGH, 10L, 100L, DAY.minusDays(1));
+        cube.upsert(2, TaskStatus.TO_DO, TaskPriority.HIGH, 10L, 100L, DAY);
+        cube.upsert(3, TaskStatus.TO_DO, TaskPriority.HIGH, 10L, 100L, DAY.plusDays(1));
+        cube.upsert(4, TaskStatus.TO_DO, TaskPriority.LOW, 10L, 100L, DAY);
+
+        TaskCubeFilter filter = TaskCubeFilter.builder()
+                .priorities(Set.of(TaskPriority.HIGH, TaskPriority.CRITICAL))
+                .dueFrom(DAY)
+                .dueTo(DAY.plusDays(1))
+                .build();
+
+        assertEquals(2L, cube.query(filter, List.of()).getMatchedTasks());
+    }
+
+    @Test
+    void unknownAssigneeMatchesNothing() {
+        TaskCube cube = new TaskCube(1L);
+        cube.upsert(1, TaskStatus.TO_DO, TaskPriority.LOW, 10L, 100L, DAY);
+
+        TaskPivotDto pivot = cube.query(TaskCubeFilter.builder().assigneeId(99L).build(), List.of(TaskCubeDimension.STATUS));
+
+        assertTrue(pivot.getCells().isEmpty());
+        assertEquals(0L, pivot.getMatchedTasks());
+    }
+
+    @Test
+    void upsertOverwritesExistingRow() {
+        TaskCube cube = new TaskCube(1L);
+        cube.upsert(1, TaskStatus.TO_DO, TaskPriority.LOW, 10L, 100L, DAY);
+        cube.upsert(1, TaskStatus.DONE, TaskPriority.LOW, 10L, 100L, DAY);
+
+        TaskPivotDto pivot = cube.query(null, List.of(TaskCubeDimension.STATUS));
+
+        assertEquals(1, cube.size());
+        assertEquals(Map.of(TaskStatus.DONE, 1L), countsBy(pivot, TaskPivotCellDto::getStatus));
+    }
+
+    @Test
+    void removeMovesLastRowIntoTheGap() {
+        TaskCube cube = new TaskCube(1L);
+        cube.upsert(1, TaskStatus.TO_DO, TaskPriority.LOW, 10L, 100L, DAY);
+        cube.upsert(2, TaskStatus.IN_PROGRESS, TaskPriority.LOW, 10L, 100L, DAY);
+        cube.upsert(3, TaskStatus.DONE, TaskPriority.LOW, 10L, 100L, DAY);
+
+        assertTrue(cube.remove(1));
+        assertFalse(cube.remove(1));
+        assertFalse(cube.remove(42));
+
+        // Task 3 now lives in row 0; updating it must not resurrect task 1
+        cube.upsert(3, TaskStatus.REVIEW, TaskPriority.LOW, 10L, 100L, DAY);
+        TaskPivotDto pivot = cube.query(null, List.of(TaskCubeDimension.STATUS));
+
+        assertEquals(2, cube.size());
+        assertEquals(Map.of(TaskStatus.IN_PROGRESS, 1L, TaskStatus.REVIEW, 1L), countsBy(pivot, TaskPivotCellDto::getStatus));
+    }
+
+    @Test
+    void parallelScanMatchesSequentialCounts() {
+        TaskCube cube = new TaskCube(1L);
+        TaskStatus[] statuses = TaskStatus.values();
+        int rows = 50_000;
+        long[] expected = new long[statuses.length];
+        for (int i = 0; i < rows; i++) {
+            TaskStatus status = statuses[(i * 7) % statuses.length];
+            expected[status.ordinal()]++;
+            cube.upsert(i, status, TaskPriority.MEDIUM, (long) (i % 13), (long) (i % 5), DAY.plusDays(i % 30));
+        }
+
+        TaskPivotDto pivot = cube.query(null, List.of(TaskCubeDimension.STATUS));
+
+        Map<TaskStatus, Long> counts = countsBy(pivot, TaskPivotCellDto::getStatus);
+        for (TaskStatus status : statuses) {
+            assertEquals(expected[status.ordinal()], counts.get(status));
+        }
+        assertEquals((long) rows, pivot.getMatchedTasks());
+    }
+
+    private static <K> Map<K, Long> countsBy(TaskPivotDto pivot, Function<TaskPivotCellDto, K> key) {
+        return pivot.getCells().stream().collect(Collectors.toMap(key, TaskPivotCellDto::getCount));
+    }
+}
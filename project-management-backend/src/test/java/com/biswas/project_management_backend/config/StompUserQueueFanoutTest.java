@@ -0,0 +1,189 @@
+package com.biswas.project_management_backend.config;
+
+import com.biswas.project_management_backend.security.StompAuthChannelInterceptor;
+import com.biswas.project_management_backend.service.impl.NotificationOutboxServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fan-out of one notification per user to N sessions subscribed to /user/queue/notifications
+// on the in-process simple broker. Sessions are simulated without sockets: CONNECT and SUBSCRIBE
+// go through the auth interceptor and the broker channel, which the broker and the user
+// destination handler both listen on, the user registry learns of them from the same event the
+// STOMP handler publishes, and frames are counted where the broker hands them to the outbound
+// channel. Wall-clock dependent, so only run with -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class StompUserQueueFanoutTest {
+
+    private static final int SESSIONS = 10_000;
+    private static final String SESSION_PREFIX = "bench-";
+    private static final String USER_QUEUE = "/user" + NotificationOutboxServiceImpl.NOTIFICATION_QUEUE;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private MessageChannel clientInboundChannel;
+
+    // No executor configured, so handlers run on the sending thread
+    @Autowired
+    @Qualifier("brokerChannel")
+    private MessageChannel brokerChannel;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private AbstractSubscribableChannel clientOutboundChannel;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private SimpUserRegistry simpUserRegistry;
+
+    @Test
+    void everySessionReceivesItsOwnNotification() throws Exception {
+        long[] sentAt = new long[SESSIONS];
+        long[] latencyNanos = new long[SESSIONS];
+        AtomicInteger misrouted = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(SESSIONS);
+
+        MessageHandler client = message -> {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            String sessionId = accessor.getSessionId();
+            if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                    || sessionId == null || !sessionId.startsWith(SESSION_PREFIX)) return;
+
+            int session = Integer.parseInt(sessionId.substring(SESSION_PREFIX.length()));
+            String body = new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+            if (!body.startsWith("{\"id\":" + session + ",")) misrouted.incrementAndGet();
+            latencyNanos[session] = System.nanoTime() - sentAt[session];
+            delivered.countDown();
+        };
+
+        connectAndSubscribe();
+        clientOutboundChannel.subscribe(client);
+        try {
+            assertTrue(simpUserRegistry.getUserCount() >= SESSIONS);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < SESSIONS; i++) {
+                sentAt[i] = System.nanoTime();
+                messagingTemplate.send("/user/" + i + NotificationOutboxServiceImpl.NOTIFICATION_QUEUE, payload(i));
+            }
+            long sent = System.nanoTime();
+            assertTrue(delivered.await(60, TimeUnit.SECONDS), delivered.getCount() + " sessions got nothing");
+            long done = System.nanoTime();
+
+            assertEquals(0, misrouted.get(), "notifications delivered to another user's session");
+            Arrays.sort(latencyNanos);
+            log.info("📊 {} user-queue sessions: sent in {} ms, delivered in {} ms, {} msg/s, latency p50 {} µs p99 {} µs max {} µs",
+                    SESSIONS,
+                    TimeUnit.NANOSECONDS.toMillis(sent - start),
+                    TimeUnit.NANOSECONDS.toMillis(done - start),
+                    Math.round(SESSIONS / ((done - start) / 1e9)),
+                    TimeUnit.NANOSECONDS.toMicros(latencyNanos[SESSIONS / 2]),
+                    TimeUnit.NANOSECONDS.toMicros(latencyNanos[SESSIONS * 99 / 100]),
+                    TimeUnit.NANOSECONDS.toMicros(latencyNanos[SESSIONS - 1]));
+        } finally {
+            clientOutboundChannel.unsubscribe(client);
+            disconnectAll();
+        }
+    }
+
+    private void connectAndSubscribe() {
+        for (int i = 0; i < SESSIONS; i++) {
+            String sessionId = SESSION_PREFIX + i;
+            Principal user = principal(i);
+
+            // The broker only delivers to sessions it saw connect; no heartbeats for these
+            SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+            connect.setSessionId(sessionId);
+            connect.setUser(user);
+            connect.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[]{0, 0});
+            brokerChannel.send(emptyMessage(connect));
+
+            SimpMessageHeaderAccessor connected = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+            connected.setSessionId(sessionId);
+            connected.setUser(user);
+            eventPublisher.publishEvent(new SessionConnectedEvent(this, emptyMessage(connected), user));
+
+            StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+            subscribe.setSessionId(sessionId);
+            subscribe.setSubscriptionId("sub-0");
+            subscribe.setDestination(USER_QUEUE);
+            subscribe.setUser(user);
+            // Same checks as a real SUBSCRIBE; the user destination handler then registers
+            // /queue/notifications-user<session> with the broker
+            brokerChannel.send(stompAuthChannelInterceptor.preSend(emptyMessage(subscribe), clientInboundChannel));
+        }
+    }
+
+    private void disconnectAll() {
+        for (int i = 0; i < SESSIONS; i++) {
+            String sessionId = SESSION_PREFIX + i;
+            SimpMessageHeaderAccessor disconnect = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+            disconnect.setSessionId(sessionId);
+            brokerChannel.send(emptyMessage(disconnect));
+            eventPublisher.publishEvent(new SessionDisconnectEvent(
+                    this, emptyMessage(disconnect), sessionId, CloseStatus.NORMAL, principal(i)));
+        }
+    }
+
+    private static Principal principal(int userId) {
+        return new UsernamePasswordAuthenticationToken(String.valueOf(userId), null, List.of());
+    }
+
+    private static Message<byte[]> emptyMessage(SimpMessageHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    // Pre-built like the outbox's messages, so no converter runs per send
+    private static Message<byte[]> payload(int userId) {
+        byte[] body = ("{\"id\":" + userId + ",\"message\":\"Task 'Release notes' is overdue\","
+                + "\"type\":\"TASK_OVERDUE\",\"read\":false,\"relatedEntityId\":42}")
+                .getBytes(StandardCharsets.UTF_8);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+}
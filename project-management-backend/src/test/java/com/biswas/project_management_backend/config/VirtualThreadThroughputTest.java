@@ -0,0 +1,97 @@
+package com.biswas.project_management_backend.config;
+
+import com.biswas.project_management_backend.ai.StubChatModel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Throughput of blocking calls to a slow downstream: Tomcat's platform pool against
+// the per-request virtual threads of spring.threads.virtual.enabled. Wall-clock and
+// core-count dependent, so only run with -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadThroughputTest {
+
+    private static final Prompt PROMPT = new Prompt("Elaborate the task");
+    private static final int REQUESTS = 2_000;
+    // Tomcat's default server.tomcat.threads.max
+    private static final int TOMCAT_THREADS = 200;
+
+    // Stands in for a model call, a Cloudinary upload or a slow query
+    private final StubChatModel downstream = new StubChatModel(8, Duration.ZERO, Duration.ofMillis(100));
+
+    @Test
+    void virtualThreadsAreNotCappedByTheTomcatPool() throws Exception {
+        ThreadPoolTaskExecutor platform = new ThreadPoolTaskExecutor();
+        platform.setCorePoolSize(TOMCAT_THREADS);
+        platform.setMaxPoolSize(TOMCAT_THREADS);
+        platform.setQueueCapacity(REQUESTS);
+        platform.setThreadNamePrefix("tomcat-");
+        platform.initialize();
+
+        SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("virtual-");
+        virtual.setVirtualThreads(true);
+
+        try {
+            double platformRate = throughput("platform pool", platform, REQUESTS, () -> downstream.call(PROMPT));
+            double virtualRate = throughput("virtual threads", virtual, REQUESTS, () -> downstream.call(PROMPT));
+
+            // 100 ms per call on 200 threads caps the pool near 2,000 requests/s
+            assertTrue(platformRate < TOMCAT_THREADS * 10 * 1.1, "platform " + platformRate);
+            assertTrue(virtualRate > platformRate * 3, "virtual " + virtualRate + " vs platform " + platformRate);
+        } finally {
+            platform.shutdown();
+        }
+    }
+
+    @Test
+    void blockingInsideSynchronizedPinsTheCarrier() throws Exception {
+        SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("virtual-");
+        virtual.setVirtualThreads(true);
+
+        // Fewer requests: pinned, only one call per carrier (one per core) is in flight at a time
+        int requests = 200;
+        double unpinned = throughput("virtual threads", virtual, requests, () -> downstream.call(PROMPT));
+        // A monitor per request, so nothing contends: any slowdown is the carrier being held
+        double pinned = throughput("virtual threads, synchronized", virtual, requests, () -> {
+            Object monitor = new Object();
+            synchronized (monitor) {
+                downstream.call(PROMPT);
+            }
+        });
+
+        // JDK 24 (JEP 491) stops synchronized from pinning, so the gap is only asserted before that
+        if (Runtime.version().feature() < 24) {
+            assertTrue(unpinned > pinned * 2, "unpinned " + unpinned + " vs pinned " + pinned);
+        }
+    }
+
+    private static double throughput(String name, AsyncTaskExecutor executor, int count, Runnable request) throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(CompletableFuture.runAsync(request, executor));
+        }
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double rate = count / seconds;
+        log.info("{}: {} requests in {} ms, {} requests/s", name, count, Math.round(seconds * 1000), Math.round(rate));
+        return rate;
+    }
+}
@@ -0,0 +1,149 @@
+package com.biswas.project_management_backend.controller;
+
+import com.biswas.project_management_backend.dto.AiElaborationEventDto;
+import com.biswas.project_management_backend.model.Company;
+import com.biswas.project_management_backend.model.Project;
+import com.biswas.project_management_backend.model.Task;
+import com.biswas.project_management_backend.repository.CompanyRepository;
+import com.biswas.project_management_backend.repository.ProjectRepository;
+import com.biswas.project_management_backend.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Runs against StubChatModel (ai.chat.provider=stub in the test profile)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class AiControllerStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Long taskId;
+
+    @BeforeEach
+    void createTask() {
+        Company company = new Company();
+        company.setName("Acme");
+        company.setJoinCode(UUID.randomUUID().toString());
+        company = companyRepository.save(company);
+
+        Project project = new Project();
+        project.setName("Platform");
+        project.setDescription("Backend services");
+        project.setStartDate(LocalDate.now());
+        project.setCreatedById(1L);
+        project.setCompany(company);
+        project = projectRepository.save(project);
+
+        Task task = new Task();
+        // Unique per test so every test starts with a cache miss
+        task.setTitle("Build the API " + UUID.randomUUID());
+        task.setDescription("CRUD endpoints for projects");
+        task.setDueDate(LocalDate.now().plusDays(7));
+        task.setProject(project);
+        task.setCompany(company);
+        taskId = taskRepository.save(task).getId();
+    }
+
+    @Test
+    void streamsTokensThenFieldsThenDone() throws Exception {
+        List<AiElaborationEventDto> events = stream(taskId);
+
+        List<String> types = events.stream().map(AiElaborationEventDto::getType).collect(Collectors.toList());
+        assertEquals(AiElaborationEventDto.TOKEN, types.get(0));
+        assertEquals(AiElaborationEventDto.DONE, types.get(types.size() - 1));
+        assertEquals(1, types.stream().filter(AiElaborationEventDto.DONE::equals).count());
+
+        // Field events follow the tokens that completed them, in document order
+        int elaborated = types.indexOf(AiElaborationEventDto.ELABORATED_TASK);
+        assertTrue(elaborated > 0);
+        assertEquals(elaborated, types.lastIndexOf(AiElaborationEventDto.ELABORATED_TASK));
+        List<AiElaborationEventDto> steps = events.stream()
+                .filter(e -> AiElaborationEventDto.STEP.equals(e.getType()))
+                .collect(Collectors.toList());
+        assertEquals(5, steps.size());
+        assertTrue(types.indexOf(AiElaborationEventDto.STEP) > elaborated);
+        for (int i = 0; i < steps.size(); i++) {
+            assertEquals(i, steps.get(i).getIndex());
+        }
+
+        // The tokens add up to the model's answer, whose fields the done event carries
+        String answer = events.stream()
+                .filter(e -> AiElaborationEventDto.TOKEN.equals(e.getType()))
+                .map(AiElaborationEventDto::getText)
+                .collect(Collectors.joining());
+        AiElaborationEventDto done = events.get(events.size() - 1);
+        assertTrue(answer.startsWith("{\"elaboratedTask\""));
+        assertEquals(events.get(elaborated).getText(), done.getResult().getElaboratedTask());
+        assertEquals(steps.stream().map(AiElaborationEventDto::getText).collect(Collectors.toList()),
+                done.getResult().getSteps());
+    }
+
+    @Test
+    void cachedElaborationIsReplayedWithoutTokens() throws Exception {
+        List<AiElaborationEventDto> first = stream(taskId);
+        List<AiElaborationEventDto> second = stream(taskId);
+
+        List<String> types = second.stream().map(AiElaborationEventDto::getType).collect(Collectors.toList());
+        assertFalse(types.contains(AiElaborationEventDto.TOKEN));
+        assertEquals(AiElaborationEventDto.ELABORATED_TASK, types.get(0));
+        assertEquals(AiElaborationEventDto.DONE, types.get(types.size() - 1));
+        assertEquals(first.get(first.size() - 1).getResult(), second.get(second.size() - 1).getResult());
+    }
+
+    private List<AiElaborationEventDto> stream(Long id) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/ai/elaborate/{taskId}/stream", id)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(10_000);
+
+        // Every event is written as "event:<type>" followed by "data:<json>"
+        List<AiElaborationEventDto> events = new ArrayList<>();
+        String type = null;
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            if (line.startsWith("event:")) {
+                type = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                AiElaborationEventDto event = objectMapper.readValue(line.substring("data:".length()), AiElaborationEventDto.class);
+                assertEquals(type, event.getType());
+                events.add(event);
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,104 @@
+package com.biswas.project_management_backend.dto.mapper;
+
+import com.biswas.project_management_backend.config.JacksonConfig;
+import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.model.User;
+import com.biswas.project_management_backend.model.enm.NotificationType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Bytes allocated per recipient when a fan-out encodes each payload with Jackson, against
+// encoding the body once and splicing in the id. JVM dependent, so only run with -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+class NotificationPayloadAllocationTest {
+
+    private static final int RECIPIENTS = 1_000;
+    private static final int WARM_UP_ROUNDS = 20;
+
+    private final NotificationMessageMapper mapper = new NotificationMessageMapper(new JacksonConfig().objectMapper());
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void sharedBodyAllocatesLessPerRecipient() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "thread allocation counters unavailable");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> fanout = fanout(now);
+
+        Function<List<Notification>, List<byte[]>> perRecipient = notifications -> {
+            List<byte[]> payloads = new ArrayList<>(notifications.size());
+            for (Notification notification : notifications) {
+                payloads.add(mapper.encode(notification.getId(), mapper.encodeBody(notification, now)));
+            }
+            return payloads;
+        };
+        Function<List<Notification>, List<byte[]>> shared = notifications -> {
+            List<byte[]> payloads = new ArrayList<>(notifications.size());
+            byte[] body = mapper.encodeBody(notifications.get(0), now);
+            for (Notification notification : notifications) {
+                payloads.add(mapper.encode(notification.getId(), body));
+            }
+            return payloads;
+        };
+
+        // Both paths must produce the same bytes, or the comparison means nothing
+        List<byte[]> expected = perRecipient.apply(fanout);
+        List<byte[]> actual = shared.apply(fanout);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            assertTrue(Arrays.equals(expected.get(i), actual.get(i)), "payload " + i);
+        }
+
+        double perRecipientBytes = bytesPerRecipient("per-recipient encoding", perRecipient, fanout);
+        double sharedBytes = bytesPerRecipient("shared body", shared, fanout);
+
+        assertTrue(sharedBytes < perRecipientBytes / 2,
+                "shared " + sharedBytes + " B vs per-recipient " + perRecipientBytes + " B");
+    }
+
+    private double bytesPerRecipient(String name, Function<List<Notification>, List<byte[]>> encoder,
+                                     List<Notification> fanout) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            encoder.apply(fanout);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        List<byte[]> payloads = encoder.apply(fanout);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        double perRecipient = allocated / (double) payloads.size();
+        log.info("{}: {} payloads, {} bytes allocated, {} bytes per recipient",
+                name, payloads.size(), allocated, Math.round(perRecipient));
+        return perRecipient;
+    }
+
+    // Same event for every recipient, e.g. a project-wide announcement
+    private static List<Notification> fanout(LocalDateTime createdAt) {
+        List<Notification> notifications = new ArrayList<>(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            notifications.add(Notification.builder()
+                    .id(10_000L + i)
+                    .recipient(User.builder().id((long) i).build())
+                    .message("Project \"Website relaunch\" moved its deadline to Friday")
+                    .type(NotificationType.PROJECT_UPDATED)
+                    .createdAt(createdAt)
+                    .relatedEntityId(42L)
+                    .build());
+        }
+        return notifications;
+    }
+}
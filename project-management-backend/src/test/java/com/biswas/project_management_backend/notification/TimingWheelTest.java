@@ -0,0 +1,94 @@
+package com.biswas.project_management_backend.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Driven by a fake clock, one advance per tick, so expiry ticks are exact
+class TimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, clock::get);
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    void expiresOnItsDeadlineTickAndNotBefore() {
+        wheel.schedule("a", 30);
+        wheel.schedule("b", 35);
+
+        assertEquals(List.of(), advanceTo(2));
+        assertEquals(List.of("a"), advanceTo(3));
+        // 35 ms rounds up to tick 4 rather than firing early
+        assertEquals(List.of("b"), advanceTo(4));
+    }
+
+    @Test
+    void deadlinePastTheEndOfTheWheelWrapsAround() {
+        advanceTo(6);
+        // Tick 10 lands in slot 2, which is passed at tick 2 of the next rotation
+        wheel.schedule("wrapped", 40);
+
+        assertEquals(List.of(), advanceTo(9));
+        assertEquals(List.of("wrapped"), advanceTo(10));
+    }
+
+    @Test
+    void delayLongerThanOneRotationWaitsOutTheExtraRounds() {
+        // 25 ticks on an 8-slot wheel: slot 1, passed at ticks 1, 9 and 17 before it is due
+        wheel.schedule("long", 250);
+
+        for (int tick = 1; tick < 25; tick++) {
+            assertEquals(List.of(), advanceTo(tick), "tick " + tick);
+        }
+        assertEquals(List.of("long"), advanceTo(25));
+    }
+
+    @Test
+    void advancingLateCatchesUpOnEveryMissedTick() {
+        wheel.schedule("a", 20);
+        wheel.schedule("b", 130);
+
+        // One call after 20 ticks processes all of them
+        assertEquals(List.of("a", "b"), advanceTo(20));
+    }
+
+    @Test
+    void cancelledItemNeverExpiresAndIsNotDrained() {
+        TimingWheel.Timeout cancelled = wheel.schedule("cancelled", 30);
+        wheel.schedule("kept", 30);
+        cancelled.cancel();
+
+        assertEquals(List.of("kept"), advanceTo(3));
+
+        TimingWheel.Timeout pending = wheel.schedule("pending", 100);
+        wheel.schedule("drained", 100);
+        pending.cancel();
+        assertEquals(List.of("drained"), wheel.drainAll());
+        assertTrue(advanceTo(20).isEmpty());
+    }
+
+    @Test
+    void cancelAfterExpiryHasNoEffect() {
+        TimingWheel.Timeout timeout = wheel.schedule("a", 10);
+        assertEquals(List.of("a"), advanceTo(1));
+
+        timeout.cancel();
+        assertTrue(advanceTo(20).isEmpty());
+    }
+
+    // Items that expired during this call, in expiry order
+    private List<String> advanceTo(long tick) {
+        clock.set(tick * TICK_MS * 1_000_000L);
+        expired.clear();
+        wheel.advance(expired::add);
+        return new ArrayList<>(expired);
+    }
+}
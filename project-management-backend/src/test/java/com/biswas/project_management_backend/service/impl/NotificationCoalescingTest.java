@@ -0,0 +1,130 @@
+package com.biswas.project_management_backend.service.impl;
+
+import com.biswas.project_management_backend.dto.mapper.NotificationMessageMapper;
+import com.biswas.project_management_backend.model.Notification;
+import com.biswas.project_management_backend.model.User;
+import com.biswas.project_management_backend.model.enm.NotificationType;
+import com.biswas.project_management_backend.repository.NotificationRepository;
+import com.biswas.project_management_backend.repository.TeamNotificationRepository;
+import com.biswas.project_management_backend.repository.TeamRepository;
+import com.biswas.project_management_backend.repository.UserRepository;
+import com.biswas.project_management_backend.service.NotificationCounterService;
+import com.biswas.project_management_backend.service.NotificationOutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Outside a transaction, so notifications go straight into the coalescing window
+class NotificationCoalescingTest {
+
+    private static final long WINDOW_MS = 300;
+    private static final int BURST = 5;
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationOutboxService outboxService = mock(NotificationOutboxService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor flushExecutor = new ThreadPoolTaskExecutor();
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void setUp() {
+        flushExecutor.initialize();
+        notificationService = new NotificationServiceImpl(
+                notificationRepository,
+                mock(TeamNotificationRepository.class),
+                mock(TeamRepository.class),
+                mock(UserRepository.class),
+                outboxService,
+                mock(SimpUserRegistry.class),
+                new NotificationMessageMapper(new ObjectMapper()),
+                mock(NotificationCounterService.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                flushExecutor,
+                meterRegistry);
+        ReflectionTestUtils.setField(notificationService, "coalescingWindowMs", WINDOW_MS);
+        ReflectionTestUtils.setField(notificationService, "tickMs", 10L);
+        ReflectionTestUtils.setField(notificationService, "maxListed", 3);
+        notificationService.startTicker();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationService.flushPending();
+        flushExecutor.shutdown();
+    }
+
+    @Test
+    void burstForOneRecipientAndTypeIsPushedOnce() {
+        User recipient = User.builder().id(1L).build();
+        for (int i = 1; i <= BURST; i++) {
+            notificationService.createNotification(recipient, "Task " + i + " assigned", NotificationType.TASK_ASSIGNED, (long) i);
+        }
+        // A different type is its own window
+        notificationService.createNotification(recipient, "Comment on task 1", NotificationType.COMMENT_ADDED, 1L);
+
+        // Nothing is written or pushed while the window is open
+        verify(outboxService, never()).enqueue(anyList());
+        assertEquals(BURST + 1, meterRegistry.counter("notifications.coalescing.events").count());
+        assertEquals(2.0, meterRegistry.get("notifications.coalescing.pending").gauge().value());
+
+        verify(outboxService, timeout(WINDOW_MS * 10).times(2)).enqueue(anyList());
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(2)).save(saved.capture());
+        Map<NotificationType, Notification> byType = saved.getAllValues().stream()
+                .collect(Collectors.toMap(Notification::getType, n -> n));
+
+        Notification digest = byType.get(NotificationType.TASK_ASSIGNED);
+        assertTrue(digest.getMessage().startsWith("You have " + BURST + " new notifications: Task 1 assigned"),
+                digest.getMessage());
+        assertTrue(digest.getMessage().endsWith("(+2 more)"), digest.getMessage());
+        assertEquals("Comment on task 1", byType.get(NotificationType.COMMENT_ADDED).getMessage());
+        assertEquals(Long.valueOf(1), byType.get(NotificationType.COMMENT_ADDED).getRelatedEntityId());
+
+        assertEquals(2.0, meterRegistry.counter("notifications.coalescing.rows").count());
+        assertEquals((BURST + 1) / 2.0, meterRegistry.get("notifications.coalescing.ratio").gauge().value());
+        assertEquals(0.0, meterRegistry.get("notifications.coalescing.pending").gauge().value());
+    }
+
+    @Test
+    void notificationAfterTheWindowClosedOpensANewOne() {
+        User recipient = User.builder().id(2L).build();
+        notificationService.createNotification(recipient, "Task 1 updated", NotificationType.TASK_UPDATED, 1L);
+        verify(outboxService, timeout(WINDOW_MS * 10).times(1)).enqueue(anyList());
+
+        notificationService.createNotification(recipient, "Task 2 updated", NotificationType.TASK_UPDATED, 2L);
+        verify(outboxService, timeout(WINDOW_MS * 10).times(2)).enqueue(anyList());
+
+        List<Notification> saved = captureSaved(2);
+        assertEquals(List.of("Task 1 updated", "Task 2 updated"),
+                saved.stream().map(Notification::getMessage).collect(Collectors.toList()));
+        assertEquals(2.0, meterRegistry.counter("notifications.coalescing.rows").count());
+    }
+
+    private List<Notification> captureSaved(int count) {
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(count)).save(saved.capture());
+        return saved.getAllValues();
+    }
+}
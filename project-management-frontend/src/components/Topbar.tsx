@@ -53,7 +53,8 @@ export default function Topbar({ onMenuClick }: TopbarProps) {
   const fetchNotifications = useNotificationStore((s) => s.fetchNotifications);
   const markAsRead = useNotificationStore((s) => s.markAsRead);
   const markAllAsRead = useNotificationStore((s) => s.markAllAsRead);
-  const unreadCount = notifications.filter((n) => !n.read).length;
+  const unreadCount = useNotificationStore((s) => s.unreadCount);
+  const fetchUnreadCount = useNotificationStore((s) => s.fetchUnreadCount);
 
   const handleClickOutside = useCallback((e: MouseEvent) => {
     const target = e.target as Node;
@@ -79,6 +80,12 @@ export default function Topbar({ onMenuClick }: TopbarProps) {
     }
   }, [user]);
 
+  useEffect(() => {
+    if (token) {
+      fetchUnreadCount(token);
+    }
+  }, [token, fetchUnreadCount]);
+
   useEffect(() => {
     if (notifOpen && token) {
       fetchNotifications(token);
@@ -137,8 +144,8 @@ export default function Topbar({ onMenuClick }: TopbarProps) {
                   <button
                     className="text-xs text-accent-blue hover:underline"
                     onClick={async () => {
-                      if (user?.id && token) {
-                        await markAllAsRead(user.id, token);
+                      if (token) {
+                        await markAllAsRead(token);
                       }
                       setNotifOpen(false);
                     }}
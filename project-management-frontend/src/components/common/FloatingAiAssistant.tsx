@@ -1,6 +1,6 @@
 import { useState, useEffect } from "react";
 import { Sparkles, Copy } from "lucide-react";
-import { elaborateTask } from "../../services/aiService";
+import { streamElaborateTask } from "../../services/aiService";
 import { AiElaborationResponseDto } from "../../@api";
 import { motion, AnimatePresence } from "framer-motion";
 
@@ -28,7 +28,15 @@ export default function FloatingAIAssistant({ taskId }: FloatingAIAssistantProps
     setResponse(null);
 
     try {
-      const res = await elaborateTask(taskId);
+      // Start typing as soon as the elaboration is complete; steps are appended as they stream in
+      const res = await streamElaborateTask(taskId, (event) => {
+        if (event.type === "elaboratedTask") {
+          setResponse({ elaboratedTask: event.text ?? "", steps: [] });
+          setLoading(false);
+        } else if (event.type === "step") {
+          setResponse((prev) => prev && { ...prev, steps: [...(prev.steps ?? []), event.text ?? ""] });
+        }
+      });
       setResponse(res);
     } catch (err) {
       console.error("AI elaboration error:", err);
@@ -69,7 +77,7 @@ export default function FloatingAIAssistant({ taskId }: FloatingAIAssistantProps
     }, speed);
 
     return () => clearInterval(interval);
-  }, [response, loading]);
+  }, [response?.elaboratedTask, loading]);
 
   const handleCopy = () => {
     if (!response) return;
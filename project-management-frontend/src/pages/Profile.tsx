@@ -11,7 +11,14 @@ import {
 } from "lucide-react";
 import { useNavigate } from "react-router-dom";
 import { getCompany } from "../services/companyService";
-import { uploadProfileImage, deleteProfileImage } from "../services/commonService";
+import { uploadProfileImage, deleteProfileImage, ProfileImageUpload } from "../services/commonService";
+import { getUserById } from "../services/userService";
+import {
+  connectWebSocket,
+  addMessageListener,
+  removeMessageListener,
+  whenSubscribed,
+} from "../services/webSocketService";
 import { CompanyDto, UserDto } from "../@api/models";
 import ChangePasswordModal from "../components/modals/ChangePasswordModal";
 
@@ -26,6 +33,9 @@ export default function ProfilePage() {
   const navigate = useNavigate();
   const fileInputRef = useRef<HTMLInputElement>(null);
   const [deleting, setDeleting] = useState(false);
+  const pendingUploadCleanup = useRef<(() => void) | null>(null);
+
+  useEffect(() => () => pendingUploadCleanup.current?.(), []);
 
   useEffect(() => {
     const storedUser = localStorage.getItem("user");
@@ -65,18 +75,95 @@ export default function ProfilePage() {
     }
   };
 
+  const applyProfileImageUrl = (url: string | null | undefined) => {
+    setUser((prev) => {
+      if (!prev) return prev;
+      const updatedUser = { ...prev, profileImageUrl: url ?? "" };
+      localStorage.setItem("user", JSON.stringify(updatedUser));
+      return updatedUser;
+    });
+  };
+
+  // The server answers with a pending id and pushes the outcome over the WebSocket.
+  // Listening starts before the upload is sent, since a small image can be processed
+  // before the POST even returns; pushes seen before the id is known are kept until then.
+  // If no push arrives in time, the user is re-read instead
+  const watchUpload = (userId: number) => {
+    let imageId: number | null = null;
+    let timeout: ReturnType<typeof setTimeout> | undefined;
+    const early: ProfileImageUpload[] = [];
+
+    const finish = () => {
+      removeMessageListener(onMessage);
+      clearTimeout(timeout);
+      pendingUploadCleanup.current = null;
+      setUploading(false);
+    };
+
+    const apply = (data: ProfileImageUpload) => {
+      if (data.status === "READY") {
+        applyProfileImageUrl(data.profileImageUrl);
+      } else if (data.status === "FAILED") {
+        console.error("Failed to process image:", data.message);
+      }
+      finish();
+    };
+
+    const onMessage = (rawMsg: string) => {
+      let data: ProfileImageUpload;
+      try {
+        data = JSON.parse(rawMsg);
+      } catch {
+        return;
+      }
+      if (data.type !== "PROFILE_IMAGE" || data.status === "PENDING") return;
+
+      if (imageId === null) {
+        early.push(data);
+      } else if (data.imageId === imageId) {
+        apply(data);
+      }
+    };
+
+    const expect = (id: number) => {
+      imageId = id;
+      const done = early.find((data) => data.imageId === id);
+      if (done) {
+        apply(done);
+        return;
+      }
+      timeout = setTimeout(async () => {
+        try {
+          const refreshed = await getUserById(userId);
+          applyProfileImageUrl(refreshed.profileImageUrl);
+        } catch (err) {
+          console.error("Failed to refresh profile image:", err);
+        } finally {
+          finish();
+        }
+      }, 30000);
+    };
+
+    addMessageListener(onMessage);
+    pendingUploadCleanup.current = finish;
+    return { expect, finish };
+  };
+
   const handleImageUpload = async (event: React.ChangeEvent<HTMLInputElement>) => {
     const file = event.target.files?.[0];
-    if (!file || !user) return;
+    if (!file || !user?.id) return;
+    pendingUploadCleanup.current?.();
     setUploading(true);
+    const watch = watchUpload(user.id);
     try {
-      const updatedUser = await uploadProfileImage(file);
-      setUser(updatedUser);
-      localStorage.setItem("user", JSON.stringify(updatedUser));
+      connectWebSocket(user.id);
+      // Without the socket the 30 s fallback still applies, so do not hold the upload back for long
+      await whenSubscribed(5000);
+      const upload = await uploadProfileImage(file);
+      watch.expect(upload.imageId);
     } catch (err) {
       console.error("Failed to upload image:", err);
-    } finally {
-      setUploading(false);
+      watch.finish();
     }
   };
   
@@ -14,3 +14,56 @@ export const elaborateTask = async (taskId: number): Promise<AiElaborationRespon
     };
   }
 };
+
+export interface AiElaborationEvent {
+  type: "token" | "elaboratedTask" | "step" | "done";
+  text?: string;
+  index?: number;
+  result?: AiElaborationResponseDto;
+}
+
+// Reads the SSE elaboration stream; fetch is used instead of EventSource so the bearer token can be sent
+export const streamElaborateTask = async (
+  taskId: number,
+  onEvent: (event: AiElaborationEvent) => void
+): Promise<AiElaborationResponseDto> => {
+  const token = localStorage.getItem("token");
+  const res = await fetch(`${import.meta.env.VITE_API_BASE_URL}/ai/elaborate/${taskId}/stream`, {
+    headers: {
+      Accept: "text/event-stream",
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+  });
+  if (!res.ok || !res.body) {
+    throw new Error(`Elaboration stream failed with status ${res.status}`);
+  }
+
+  const reader = res.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = "";
+  let result: AiElaborationResponseDto | undefined;
+
+  for (;;) {
+    const { done, value } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true });
+
+    // Events are separated by a blank line; keep the trailing partial event for the next read
+    const frames = buffer.split(/\r?\n\r?\n/);
+    buffer = frames.pop() ?? "";
+    for (const frame of frames) {
+      const data = frame
+        .split(/\r?\n/)
+        .filter((line) => line.startsWith("data:"))
+        .map((line) => line.slice(5))
+        .join("\n");
+      if (!data) continue;
+      const event: AiElaborationEvent = JSON.parse(data);
+      if (event.type === "done") result = event.result;
+      onEvent(event);
+    }
+  }
+
+  if (!result) throw new Error("Elaboration stream ended early");
+  return result;
+};
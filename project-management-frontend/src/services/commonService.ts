@@ -1,7 +1,15 @@
-import { UserDto } from "../@api/models";
 import api from "./api";
 
-export const uploadProfileImage = async (file: File): Promise<UserDto> => {
+// The upload is processed in the background; READY/FAILED/SUPERSEDED arrive on /user/queue/notifications
+export type ProfileImageUpload = {
+  type: "PROFILE_IMAGE";
+  imageId: number;
+  status: "PENDING" | "READY" | "FAILED" | "SUPERSEDED";
+  profileImageUrl?: string | null;
+  message?: string | null;
+};
+
+export const uploadProfileImage = async (file: File): Promise<ProfileImageUpload> => {
   try {
     const formData = new FormData();
     formData.append("file", file);
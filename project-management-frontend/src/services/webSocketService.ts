@@ -1,24 +1,52 @@
 // src/services/webSocketService.ts
 import { Client } from "@stomp/stompjs";
 import SockJS from "sockjs-client";
+import api from "./api";
 
 let stompClient: Client | null = null;
 let listeners: ((msg: string) => void)[] = [];
+let subscribed = false;
+let subscribedWaiters: (() => void)[] = [];
 
 export const connectWebSocket = (userId: number) => {
-  if (stompClient && stompClient.connected) return;
+  // Also while still connecting, so a second caller does not open another socket
+  if (stompClient && stompClient.active) return;
 
   const socket = new SockJS("http://localhost:8080/ws");
   stompClient = new Client({
     webSocketFactory: () => socket as any,
     reconnectDelay: 5000,
-    onConnect: () => {
-      const topic = `/topic/notifications/${userId}`;
-      stompClient?.subscribe(topic, (message) => {
-        if (message.body) {
-          listeners.forEach((cb) => cb(message.body));
-        }
+    // The server authenticates the STOMP CONNECT frame with the JWT; re-read it on every (re)connect
+    beforeConnect: () => {
+      const token = localStorage.getItem("token");
+      if (stompClient) {
+        stompClient.connectHeaders = token ? { Authorization: `Bearer ${token}` } : {};
+      }
+    },
+    onConnect: async () => {
+      // Personal queue plus one topic per team; the server only lists (and allows) the user's own
+      let destinations = ["/user/queue/notifications"];
+      try {
+        const res = await api.get<string[]>("/notifications/channels");
+        destinations = res.data;
+      } catch (err) {
+        console.error("Failed to load notification channels:", err);
+      }
+
+      destinations.forEach((destination) => {
+        stompClient?.subscribe(destination, (message) => {
+          if (message.body) {
+            listeners.forEach((cb) => cb(message.body));
+          }
+        });
       });
+
+      subscribed = true;
+      subscribedWaiters.forEach((resolve) => resolve());
+      subscribedWaiters = [];
+    },
+    onWebSocketClose: () => {
+      subscribed = false;
     },
     onStompError: (frame) => {
       console.error("❌ STOMP error", frame.headers["message"]);
@@ -28,6 +56,23 @@ export const connectWebSocket = (userId: number) => {
   stompClient.activate();
 };
 
+// Resolves true once the notification subscriptions are sent, or false after timeoutMs
+export const whenSubscribed = (timeoutMs: number): Promise<boolean> => {
+  if (subscribed) return Promise.resolve(true);
+
+  return new Promise((resolve) => {
+    const waiter = () => {
+      clearTimeout(timer);
+      resolve(true);
+    };
+    const timer = setTimeout(() => {
+      subscribedWaiters = subscribedWaiters.filter((w) => w !== waiter);
+      resolve(false);
+    }, timeoutMs);
+    subscribedWaiters.push(waiter);
+  });
+};
+
 export const disconnectWebSocket = () => {
   if (stompClient) {
     stompClient.deactivate();
@@ -10,32 +10,53 @@ type Notification = {
   relatedEntityId: number;
 };
 
+type NotificationPage = {
+  items: Notification[];
+  nextBeforeCreatedAt: string | null;
+  nextBeforeId: number | null;
+};
+
 type NotificationStore = {
   notifications: Notification[];
+  unreadCount: number;
   fetchNotifications: (token: string) => Promise<void>;
+  fetchUnreadCount: (token: string) => Promise<void>;
   addNotification: (n: Notification) => void;
   markAsRead: (id: number, token: string) => Promise<void>;
-  markAllAsRead: (userId: number, token: string) => Promise<void>;
+  markAllAsRead: (token: string) => Promise<void>;
 };
 
 export const useNotificationStore = create<NotificationStore>((set) => ({
   notifications: [],
+  unreadCount: 0,
 
+  // First page only; the dropdown shows the newest notifications
   fetchNotifications: async (token) => {
     try {
-      const res = await api.get(`/notifications`, {
+      const res = await api.get<NotificationPage>(`/notifications`, {
         headers: { Authorization: `Bearer ${token}` },
       });
-      set({ notifications: res.data });
-      console.log(res.data);
+      set({ notifications: res.data.items });
     } catch (err) {
       console.error("Failed to fetch notifications:", err);
     }
   },
 
+  fetchUnreadCount: async (token) => {
+    try {
+      const res = await api.get<number>(`/notifications/unread-count`, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      set({ unreadCount: res.data });
+    } catch (err) {
+      console.error("Failed to fetch unread count:", err);
+    }
+  },
+
   addNotification: (n) =>
     set((state) => ({
       notifications: [n, ...state.notifications],
+      unreadCount: state.unreadCount + 1,
     })),
 
   // ✅ Mark single notification as read + remove locally
@@ -48,6 +69,7 @@ export const useNotificationStore = create<NotificationStore>((set) => ({
       // remove from local list
       set((state) => ({
         notifications: state.notifications.filter((n) => n.id !== id),
+        unreadCount: Math.max(0, state.unreadCount - 1),
       }));
     } catch (err) {
       console.error("Failed to mark notification as read:", err);
@@ -55,14 +77,14 @@ export const useNotificationStore = create<NotificationStore>((set) => ({
   },
 
   // ✅ Mark all as read + delete locally (for local dev)
-  markAllAsRead: async (userId, token) => {
+  markAllAsRead: async (token) => {
     try {
-      await api.put(`/notifications/read-all/${userId}`, {}, {
+      await api.put(`/notifications/read-all`, {}, {
         headers: { Authorization: `Bearer ${token}` },
       });
 
       // clear all notifications locally
-      set({ notifications: [] });
+      set({ notifications: [], unreadCount: 0 });
     } catch (err) {
       console.error("Failed to mark all as read:", err);
     }